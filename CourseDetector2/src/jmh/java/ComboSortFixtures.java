@@ -0,0 +1,42 @@
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+
+import benchmark.ComboSortBenchmark;
+
+public class ComboSortFixtures implements ComboSortBenchmark.Workloads {
+    @Override
+    public Supplier<Object> comboSort(int courseCount, int sectionCount,
+                                      long seed) {
+        Schedule schedule = new Schedule(
+                FixtureData.catalog(courseCount, sectionCount, seed));
+        final List<CourseCombo> combos = schedule.getAllSectionCombos();
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                List<CourseCombo> copy = new ArrayList<>(combos);
+                Collections.sort(copy);
+                return copy;
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> comboTableSort(int courseCount, int sectionCount,
+                                           long seed) {
+        Schedule schedule = new Schedule(
+                FixtureData.catalog(courseCount, sectionCount, seed));
+        final ComboTable combos = schedule.getAllSectionComboTable();
+        final int maxIndex = sectionCount;
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                ComboTable copy = new ComboTable(combos.getWidth(), maxIndex);
+                copy.addAll(combos);
+                copy.sort();
+                return copy;
+            }
+        };
+    }
+}
@@ -0,0 +1,123 @@
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import benchmark.CritiqueBenchmark;
+
+public class CritiqueFixtures implements CritiqueBenchmark.Workloads {
+    @Override
+    public IntSupplier critiqueBuffered(int rowCount, long seed) {
+        final byte[] page = critiquePage(rowCount, seed);
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                StringBuffer sb = new StringBuffer();
+                try {
+                    BufferedReader in = new BufferedReader(
+                            new InputStreamReader(
+                                    new ByteArrayInputStream(page), "UTF-8"));
+                    String line;
+                    while ((line = in.readLine()) != null) {
+                        sb.append(line);
+                        sb.append("\n");
+                    }
+                    in.close();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+                Map<String, Double> instructors = new HashMap<>();
+                Matcher m = Pattern.compile(
+                        "(<tr class=\"[A-Z\\.]+\">)(.+)(</tr>)")
+                        .matcher(sb.toString());
+                while (m.find()) {
+                    String fragment = m.group(2);
+                    Matcher mName = Pattern.compile(
+                            "([A-Za-z \\-\\.]+, [A-Z])([A-Za-z \\-]*)")
+                            .matcher(fragment);
+                    Matcher mGPA = Pattern.compile("(\\d\\.\\d\\d)")
+                            .matcher(fragment);
+                    if (mName.find() && mGPA.find()) {
+                        instructors.put(mName.group(1) + ".",
+                                Double.parseDouble(mGPA.group(1)));
+                    }
+                }
+                return instructors.size();
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> critique(int rowCount, long seed) {
+        final byte[] page = critiquePage(rowCount, seed);
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return new InstructorPool(new ByteArrayInputStream(page),
+                        "UTF-8");
+            }
+        };
+    }
+
+    /**
+     * Build a critique page with one table row per instructor, laid out
+     * like the rows course.php lists instructors by
+     * @param rowCount the number of instructor rows
+     * @param seed the seed of the synthetic data
+     * @return the page in UTF-8
+     */
+    private static byte[] critiquePage(int rowCount, long seed) {
+        Random random = new Random(seed);
+        StringBuilder page = new StringBuilder();
+        page.append("<html>\n<head><title>Course Critique</title></head>\n");
+        page.append("<body>\n<table id=\"dataTable\">\n<thead>\n");
+        page.append("<tr><th>Instructor</th><th>Size</th><th>GPA</th>"
+        + "<th>A%</th><th>B%</th><th>C%</th><th>D%</th><th>F%</th>"
+        + "<th>W%</th></tr>\n</thead>\n<tbody>\n");
+        for (int i = 0; i < rowCount; i++) {
+            int gpa = 200 + random.nextInt(200);
+            page.append("<tr class=\"GRADE.A\"><td><a href=\"prof.php?id=")
+                    .append(100000 + i).append("\">")
+                    .append(lastName(i)).append(", ")
+                    .append((char) ('A' + random.nextInt(26)))
+                    .append("</a></td><td>").append(20 + random.nextInt(300))
+                    .append("</td><td>")
+                    .append(gpa / 100).append('.').append(gpa / 10 % 10)
+                    .append(gpa % 10).append("</td>");
+            for (int j = 0; j < 6; j++) {
+                page.append("<td>").append(random.nextInt(100)).append("%</td>");
+            }
+            page.append("</tr>\n");
+        }
+        page.append("</tbody>\n</table>\n</body>\n</html>\n");
+        try {
+            return page.toString().getBytes("UTF-8");
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e.getMessage());
+        }
+    }
+
+    /**
+     * Give a distinct last name of letters only, as the critique markup
+     * expects, e.g. "Ba", "Ca", ..., "Bb"
+     * @param index the index of the instructor
+     * @return the name
+     */
+    private static String lastName(int index) {
+        StringBuilder name = new StringBuilder();
+        name.append((char) ('A' + 1 + index % 25));
+        index /= 25;
+        do {
+            name.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+        return name.toString();
+    }
+}
@@ -0,0 +1,61 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+
+/**
+ * The synthetic data several benchmark fixtures build on.
+ */
+final class FixtureData {
+    private FixtureData() {
+    }
+
+    /**
+     * Build synthetic courses with sections on common meeting patterns
+     * @param courseCount the number of courses
+     * @param sectionCount the number of sections per course
+     * @param seed the seed of the synthetic data
+     * @return the courses
+     */
+    static List<Course> catalog(int courseCount, int sectionCount,
+                                long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(courseCount);
+        generator.setSectionsPerCourse(sectionCount);
+        return generator.generate();
+    }
+
+    /**
+     * Write the html pages of courses to a temporary directory, deleted
+     * with them when the benchmark ends
+     * @param courses the courses
+     * @return the paths of the pages, in the order of the courses
+     * @throws IOException if the pages cannot be written
+     */
+    static List<String> writePages(List<Course> courses) throws IOException {
+        File temporary = Files.createTempDirectory("catalog").toFile();
+        temporary.deleteOnExit();
+        List<String> paths = CatalogGenerator.writeCatalog(courses,
+                temporary.getPath());
+        for (String path : paths) {
+            new File(path).deleteOnExit();
+        }
+        return paths;
+    }
+
+    /**
+     * Create a file deleted when the benchmark ends
+     * @return the path of the file
+     * @throws IllegalArgumentException if it cannot be created
+     */
+    static String temporaryFile() {
+        try {
+            File file = File.createTempFile("report", ".txt");
+            file.deleteOnExit();
+            return file.getPath();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot create a temporary"
+            + " file.");
+        }
+    }
+}
@@ -0,0 +1,136 @@
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import benchmark.ParserBenchmark;
+
+public class ParserFixtures implements ParserBenchmark.Workloads {
+    @Override
+    public Supplier<Object> parser(String directory) {
+        final List<String> paths = pages(directory);
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                List<Section> sections = null;
+                for (String path : paths) {
+                    sections = new HtmlParser().parseCourse(path);
+                }
+                return sections;
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> bulkLoader(String directory) {
+        final String parent = new File(pages(directory).get(0)).getParent();
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return CatalogLoader.loadAll(parent);
+            }
+        };
+    }
+
+    @Override
+    public IntSupplier tableEntriesRegex(String directory) {
+        final List<String> paths = pages(directory);
+        final Pattern[] patterns = {
+                Pattern.compile("(<td class=\"dddefault\">)([^<>]+)(</td>)"),
+                Pattern.compile("(crn_in=)(\\d\\d\\d\\d\\d)"),
+                Pattern.compile("(<td class=\"dddefault\"><abbr"
+                + " title=\"[a-zA-Z ]+\">)([A-Z]*)(</abbr></td>)"),
+                Pattern.compile("(<td class=\"dddefault\">)([^<>]+)"
+                + "(\\(<abbr title=\"Primary\">P</abbr>\\)</td>)"),
+                Pattern.compile("(<td colspan=\")([\\d]+)(\" class="
+                + "\"dddefault\"><abbr title=\".*\">)(.*)(</abbr></td>)")
+        };
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                List<String> entries = new ArrayList<>();
+                try {
+                    for (String path : paths) {
+                        BufferedReader reader = new BufferedReader(
+                                new FileReader(path));
+                        String line;
+                        while ((line = reader.readLine()) != null) {
+                            for (int k = 0; k < patterns.length; k++) {
+                                Matcher m = patterns[k].matcher(line);
+                                if (!m.find()) {
+                                    continue;
+                                }
+                                if (k < patterns.length - 1) {
+                                    entries.add(m.group(2));
+                                } else {
+                                    int col = Integer.parseInt(m.group(2));
+                                    for (int i = 0; i < col; i++) {
+                                        entries.add(m.group(4));
+                                    }
+                                }
+                                break;
+                            }
+                        }
+                        reader.close();
+                    }
+                } catch (IOException e) {
+                    throw new IllegalArgumentException(e.getMessage());
+                }
+                return entries.size();
+            }
+        };
+    }
+
+    @Override
+    public IntSupplier tableEntries(String directory) {
+        final List<String> paths = pages(directory);
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                HtmlParser parser = new HtmlParser();
+                int count = 0;
+                for (String path : paths) {
+                    count += parser.getTableEntries(path).size();
+                }
+                return count;
+            }
+        };
+    }
+
+    /**
+     * List the html pages of a directory; when it has none, pages of a
+     * generated catalog are written to a temporary directory instead
+     * @param directory the directory of OSCAR pages
+     * @return the paths of the pages, sorted
+     * @throws IllegalArgumentException if no pages can be written
+     */
+    private static List<String> pages(String directory) {
+        File[] files = new File(directory).listFiles();
+        List<String> paths = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                if (file.getName().endsWith(".html")) {
+                    paths.add(file.getPath());
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            try {
+                paths.addAll(FixtureData.writePages(
+                        FixtureData.catalog(10, 12, 0)));
+            } catch (IOException e) {
+                throw new IllegalArgumentException("There are no html pages"
+                + " in " + directory + " and none can be generated.");
+            }
+        }
+        Collections.sort(paths);
+        return paths;
+    }
+}
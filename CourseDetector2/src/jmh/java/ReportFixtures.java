@@ -0,0 +1,85 @@
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import benchmark.ReportBenchmark;
+
+public class ReportFixtures implements ReportBenchmark.Workloads {
+    @Override
+    public IntSupplier reportFormatted(int courseCount, int sectionCount,
+                                       long seed) {
+        final Schedule schedule = new Schedule(
+                FixtureData.catalog(courseCount, sectionCount, seed));
+        final List<CourseCombo> combos = sortedCombos(schedule);
+        final String path = FixtureData.temporaryFile();
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                try {
+                    BufferedWriter writer = new BufferedWriter(
+                            new FileWriter(path));
+                    for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+                        writer.write(String.format("%-25s",
+                                schedule.getCourse(i).getTitle()));
+                    }
+                    writer.write(String.format("%-25s\n", "Average GPA"));
+                    for (CourseCombo combo : combos) {
+                        for (int i = 0; i < schedule.getNumberOfCourses();
+                             i++) {
+                            writer.write(String.format("%25s",
+                                    schedule.getCourse(i)
+                                            .getAllEquivalentSectionNumbers(
+                                                    combo.getCourseIndex(i))));
+                        }
+                        writer.write(String.format("%25.4f\n",
+                                combo.getAverageGPA()));
+                    }
+                    writer.write("Total Combinations: " + combos.size());
+                    writer.close();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Writing interrupted.");
+                }
+                return combos.size();
+            }
+        };
+    }
+
+    @Override
+    public IntSupplier report(int courseCount, int sectionCount, long seed,
+                              String format) {
+        final Schedule schedule = new Schedule(
+                FixtureData.catalog(courseCount, sectionCount, seed));
+        final List<CourseCombo> combos = sortedCombos(schedule);
+        final String path = FixtureData.temporaryFile();
+        final ReportFormat reportFormat = ReportFormat.valueOf(format);
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                ComboReportWriter writer = schedule.openReport(path,
+                        reportFormat);
+                writer.writeAll(combos);
+                try {
+                    writer.close();
+                } catch (IOException e) {
+                    throw new IllegalArgumentException("Writing interrupted.");
+                }
+                return (int) writer.getCount();
+            }
+        };
+    }
+
+    /**
+     * Find all combos of a schedule, sorted by GPA
+     * @param schedule the schedule
+     * @return the sorted combos
+     */
+    private static List<CourseCombo> sortedCombos(Schedule schedule) {
+        schedule.setCountNullAverage(true);
+        List<CourseCombo> combos = schedule.getAllSectionCombos();
+        Collections.sort(combos);
+        return combos;
+    }
+}
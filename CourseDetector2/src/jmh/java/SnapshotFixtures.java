@@ -0,0 +1,49 @@
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import benchmark.SnapshotBenchmark;
+
+public class SnapshotFixtures implements SnapshotBenchmark.Workloads {
+    @Override
+    public Supplier<Object> catalogPages(int courseCount, int sectionCount,
+                                         long seed) {
+        final List<Course> courses = FixtureData.catalog(courseCount,
+                sectionCount, seed);
+        final List<String> paths;
+        try {
+            paths = FixtureData.writePages(courses);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot write the pages of"
+            + " the catalog.");
+        }
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                List<Course> parsed = new ArrayList<>();
+                for (int i = 0; i < courses.size(); i++) {
+                    Course course = courses.get(i);
+                    parsed.add(new Course(course.getTitle(),
+                            new HtmlParser().parseCourse(paths.get(i)),
+                            course.getInstructorPool()));
+                }
+                return parsed;
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> snapshot(int courseCount, int sectionCount,
+                                     long seed) {
+        final String path = FixtureData.temporaryFile();
+        CatalogSnapshot.write(FixtureData.catalog(courseCount, sectionCount,
+                seed), path);
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return CatalogSnapshot.read(path);
+            }
+        };
+    }
+}
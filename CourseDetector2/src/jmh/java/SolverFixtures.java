@@ -0,0 +1,19 @@
+import java.util.function.Supplier;
+
+import benchmark.SolverBenchmark;
+
+public class SolverFixtures implements SolverBenchmark.Workloads {
+    @Override
+    public Supplier<Object> solver(int courseCount, int sectionCount,
+                                   long seed) {
+        final Schedule schedule = new Schedule(
+                FixtureData.catalog(courseCount, sectionCount, seed));
+        schedule.setCountNullAverage(true);
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                return schedule.getAllSectionCombos();
+            }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import benchmark.TimeSlotBenchmark;
+
+public class TimeSlotFixtures implements TimeSlotBenchmark.Workloads {
+    @Override
+    public IntSupplier conflicts(int sectionCount, long seed) {
+        List<Section> all = new ArrayList<>();
+        for (Course course : FixtureData.catalog(1 + sectionCount / 10, 10,
+                seed)) {
+            for (int i = 0; i < course.getNumberOfSections(); i++) {
+                all.add(course.getSection(i));
+            }
+        }
+        final Section[] sections = all.subList(0,
+                Math.min(sectionCount, all.size())).toArray(new Section[0]);
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                int count = 0;
+                for (int i = 0; i < sections.length; i++) {
+                    for (int j = i + 1; j < sections.length; j++) {
+                        if (sections[i].conflictsWith(sections[j])) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public IntSupplier overlaps(int slotCount, long seed) {
+        Random random = new Random(seed);
+        final TimeSlot[] slots = new TimeSlot[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            int begin = randomBegin(random);
+            slots[i] = new TimeSlot(WeekDay.values()[random.nextInt(5)],
+                    "Room", begin, begin + 50 + 25 * random.nextInt(2));
+        }
+        return new IntSupplier() {
+            @Override
+            public int getAsInt() {
+                int count = 0;
+                for (int i = 0; i < slots.length; i++) {
+                    for (int j = i + 1; j < slots.length; j++) {
+                        if (slots[i].overlaps(slots[j])) {
+                            count++;
+                        }
+                    }
+                }
+                return count;
+            }
+        };
+    }
+
+    @Override
+    public Supplier<Object> timeSlotParsing(int slotCount, long seed) {
+        Random random = new Random(seed);
+        final String[] raws = new String[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            int begin = randomBegin(random);
+            raws[i] = clock(begin) + "-" + clock(begin + 50);
+        }
+        return new Supplier<Object>() {
+            @Override
+            public Object get() {
+                TimeSlot slot = null;
+                for (String raw : raws) {
+                    slot = new TimeSlot(WeekDay.MONDAY, "Room", raw);
+                }
+                return slot;
+            }
+        };
+    }
+
+    /**
+     * Pick a begin time between 8:00 and 18:55 on the five minute grid
+     * @param random the random source
+     * @return the minute of the day
+     */
+    private static int randomBegin(Random random) {
+        return 8 * 60 + 5 * random.nextInt(132);
+    }
+
+    /**
+     * Format a minute of the day like OSCAR pages do
+     * @param minute the minute of the day
+     * @return e.g. "01:10 pm"
+     */
+    private static String clock(int minute) {
+        int hour = minute / 60 % 12 == 0 ? 12 : minute / 60 % 12;
+        return String.format("%02d:%02d %s", hour, minute % 60,
+                minute < 12 * 60 ? "am" : "pm");
+    }
+}
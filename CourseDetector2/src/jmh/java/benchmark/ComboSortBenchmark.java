@@ -0,0 +1,69 @@
+package benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Ranking all combos by GPA, as a list of CourseCombo objects with
+ * Collections.sort() and as a packed ComboTable sorted in place.
+ */
+public class ComboSortBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by ComboSortFixtures
+     */
+    public interface Workloads {
+        /**
+         * Sort all combos of a synthetic schedule by GPA as Schedule.main
+         * does
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the sorted copy of the combos
+         */
+        Supplier<Object> comboSort(int courseCount, int sectionCount,
+                                   long seed);
+
+        /**
+         * Sort all combos of a synthetic schedule in their packed table
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the sorted copy of the table
+         */
+        Supplier<Object> comboTableSort(int courseCount, int sectionCount,
+                                        long seed);
+    }
+
+    @Param({"6"})
+    public int courses;
+
+    @Param({"8"})
+    public int sections;
+
+    @Param({"42"})
+    public long seed;
+
+    private Supplier<Object> listSort;
+    private Supplier<Object> tableSort;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("ComboSortFixtures",
+                Workloads.class);
+        listSort = fixtures.comboSort(courses, sections, seed);
+        tableSort = fixtures.comboTableSort(courses, sections, seed);
+    }
+
+    @Benchmark
+    public Object sortCourseCombos() {
+        return listSort.get();
+    }
+
+    @Benchmark
+    public Object sortComboTable() {
+        return tableSort.get();
+    }
+}
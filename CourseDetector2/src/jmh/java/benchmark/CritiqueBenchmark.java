@@ -0,0 +1,66 @@
+package benchmark;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Reading instructor GPA from a critique page, buffered with the row
+ * patterns compiled per row as InstructorPool used to and streamed line by
+ * line with the precompiled ones.
+ */
+public class CritiqueBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by CritiqueFixtures
+     */
+    public interface Workloads {
+        /**
+         * Read the GPA of every instructor from a synthetic critique page
+         * as InstructorPool used to, buffering the page and compiling the
+         * row patterns for every row
+         * @param rowCount the number of instructor rows
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the number of instructors read
+         */
+        IntSupplier critiqueBuffered(int rowCount, long seed);
+
+        /**
+         * Read the GPA of every instructor from a synthetic critique page
+         * with the streaming InstructorPool
+         * @param rowCount the number of instructor rows
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the pool read
+         */
+        Supplier<Object> critique(int rowCount, long seed);
+    }
+
+    @Param({"50", "2000"})
+    public int rows;
+
+    @Param({"42"})
+    public long seed;
+
+    private IntSupplier buffered;
+    private Supplier<Object> streamed;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("CritiqueFixtures",
+                Workloads.class);
+        buffered = fixtures.critiqueBuffered(rows, seed);
+        streamed = fixtures.critique(rows, seed);
+    }
+
+    @Benchmark
+    public int bufferPage() {
+        return buffered.getAsInt();
+    }
+
+    @Benchmark
+    public Object streamPage() {
+        return streamed.get();
+    }
+}
@@ -0,0 +1,42 @@
+package benchmark;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Loads the fixtures of a benchmark. They live in the default package with
+ * the classes they exercise, which a named package cannot refer to, and
+ * implement the Workloads interface of their benchmark; only the class is
+ * looked up by name, every workload is then called through the interface.
+ */
+final class Fixtures {
+    private Fixtures() {
+    }
+
+    /**
+     * Create the fixtures of a benchmark
+     * @param className the name of the fixture class in the default package
+     * @param type the Workloads interface of the benchmark
+     * @param <T> the Workloads interface
+     * @return the fixtures
+     * @throws IllegalStateException if the class is missing, cannot be
+     * created or does not implement the interface
+     */
+    static <T> T load(String className, Class<T> type) {
+        Object fixtures;
+        try {
+            fixtures = Class.forName(className).getDeclaredConstructor()
+                    .newInstance();
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("Fixtures " + className
+            + " failed: " + e.getCause(), e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot create fixtures "
+            + className + ".", e);
+        }
+        if (!type.isInstance(fixtures)) {
+            throw new IllegalStateException("Fixtures " + className
+            + " do not implement " + type.getName() + ".");
+        }
+        return type.cast(fixtures);
+    }
+}
@@ -0,0 +1,98 @@
+package benchmark;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * HtmlParser.parseCourse() over every page of a directory of captured
+ * OSCAR pages one after another and CatalogLoader.loadAll() over all of
+ * them at once, and pulling the table entries out of them with the five
+ * cell regexes HtmlParser used to try per line against its single pass
+ * scanner; pass -p directory=... to point it elsewhere.
+ */
+public class ParserBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by ParserFixtures; when
+     * the directory has no html pages, as in a checkout without pulled
+     * pages, they use the pages of a generated catalog written to a
+     * temporary directory instead
+     */
+    public interface Workloads {
+        /**
+         * Parse every html page of a directory
+         * @param directory the directory of OSCAR pages, e.g. the one
+         *                  SeleniumChrome.pullAllPages() saves into
+         * @return a workload returning the sections of the last page
+         * @throws IllegalArgumentException if no pages can be written
+         */
+        Supplier<Object> parser(String directory);
+
+        /**
+         * Parse every html page of a directory at once with CatalogLoader,
+         * on the common fork-join pool
+         * @param directory the directory of OSCAR pages
+         * @return a workload returning the sections by title
+         * @throws IllegalArgumentException if no pages can be written
+         */
+        Supplier<Object> bulkLoader(String directory);
+
+        /**
+         * Pull the table entries out of every html page of a directory,
+         * trying the five cell patterns on every line as HtmlParser used to
+         * @param directory the directory of OSCAR pages
+         * @return a workload returning the number of entries
+         * @throws IllegalArgumentException if no pages can be written
+         */
+        IntSupplier tableEntriesRegex(String directory);
+
+        /**
+         * Pull the table entries out of every html page of a directory with
+         * the single pass scanner of HtmlParser
+         * @param directory the directory of OSCAR pages
+         * @return a workload returning the number of entries
+         * @throws IllegalArgumentException if no pages can be written
+         */
+        IntSupplier tableEntries(String directory);
+    }
+
+    @Param({"src/main/resources/data"})
+    public String directory;
+
+    private Supplier<Object> parser;
+    private Supplier<Object> bulkLoader;
+    private IntSupplier regexEntries;
+    private IntSupplier scannedEntries;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("ParserFixtures", Workloads.class);
+        parser = fixtures.parser(directory);
+        bulkLoader = fixtures.bulkLoader(directory);
+        regexEntries = fixtures.tableEntriesRegex(directory);
+        scannedEntries = fixtures.tableEntries(directory);
+    }
+
+    @Benchmark
+    public Object parseCourse() {
+        return parser.get();
+    }
+
+    @Benchmark
+    public Object loadAll() {
+        return bulkLoader.get();
+    }
+
+    @Benchmark
+    public int matchCellRegexes() {
+        return regexEntries.getAsInt();
+    }
+
+    @Benchmark
+    public int scanCells() {
+        return scannedEntries.getAsInt();
+    }
+}
@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.util.function.IntSupplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Writing the sorted combos into a report, with String.format() per cell
+ * as Schedule.main() used to and with ComboReportWriter in every format.
+ */
+public class ReportBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by ReportFixtures
+     */
+    public interface Workloads {
+        /**
+         * Write the sorted combos of a synthetic schedule as Schedule.main
+         * did, with String.format() per cell on a BufferedWriter
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the number of combos written
+         */
+        IntSupplier reportFormatted(int courseCount, int sectionCount,
+                                    long seed);
+
+        /**
+         * Write the sorted combos of a synthetic schedule with a
+         * ComboReportWriter
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @param format the name of a ReportFormat
+         * @return a workload returning the number of combos written
+         */
+        IntSupplier report(int courseCount, int sectionCount, long seed,
+                           String format);
+    }
+
+    @Param({"6"})
+    public int courses;
+
+    @Param({"8"})
+    public int sections;
+
+    @Param({"42"})
+    public long seed;
+
+    @Param({"TEXT", "CSV", "JSON_LINES"})
+    public String format;
+
+    private IntSupplier formatted;
+    private IntSupplier streamed;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("ReportFixtures", Workloads.class);
+        formatted = fixtures.reportFormatted(courses, sections, seed);
+        streamed = fixtures.report(courses, sections, seed, format);
+    }
+
+    @Benchmark
+    public int formatEveryCell() {
+        return formatted.getAsInt();
+    }
+
+    @Benchmark
+    public int writeReport() {
+        return streamed.getAsInt();
+    }
+}
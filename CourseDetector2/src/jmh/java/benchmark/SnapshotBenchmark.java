@@ -0,0 +1,73 @@
+package benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Building the courses of a synthetic catalog at startup, from their html
+ * pages and from a CatalogSnapshot of them.
+ */
+public class SnapshotBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by SnapshotFixtures
+     */
+    public interface Workloads {
+        /**
+         * Build the courses of a synthetic catalog again from their html
+         * pages, as a run without a snapshot does apart from fetching GPA
+         * information
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the courses
+         * @throws IllegalArgumentException if the pages cannot be written
+         */
+        Supplier<Object> catalogPages(int courseCount, int sectionCount,
+                                      long seed);
+
+        /**
+         * Build the courses of a synthetic catalog again from a snapshot
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the courses
+         * @throws IllegalArgumentException if the snapshot cannot be
+         * written
+         */
+        Supplier<Object> snapshot(int courseCount, int sectionCount,
+                                  long seed);
+    }
+
+    @Param({"14"})
+    public int courses;
+
+    @Param({"20"})
+    public int sections;
+
+    @Param({"42"})
+    public long seed;
+
+    private Supplier<Object> pages;
+    private Supplier<Object> snapshot;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("SnapshotFixtures",
+                Workloads.class);
+        pages = fixtures.catalogPages(courses, sections, seed);
+        snapshot = fixtures.snapshot(courses, sections, seed);
+    }
+
+    @Benchmark
+    public Object parsePages() {
+        return pages.get();
+    }
+
+    @Benchmark
+    public Object readSnapshot() {
+        return snapshot.get();
+    }
+}
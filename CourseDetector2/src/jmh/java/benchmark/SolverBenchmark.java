@@ -0,0 +1,48 @@
+package benchmark;
+
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * Schedule.getAllSectionCombos() on synthetic schedules of growing size.
+ */
+public class SolverBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by SolverFixtures
+     */
+    public interface Workloads {
+        /**
+         * Enumerate all combos of a synthetic schedule
+         * @param courseCount the number of courses
+         * @param sectionCount the number of sections per course
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the list of combos
+         */
+        Supplier<Object> solver(int courseCount, int sectionCount, long seed);
+    }
+
+    @Param({"4", "6", "8"})
+    public int courses;
+
+    @Param({"8"})
+    public int sections;
+
+    @Param({"42"})
+    public long seed;
+
+    private Supplier<Object> solver;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("SolverFixtures", Workloads.class);
+        solver = fixtures.solver(courses, sections, seed);
+    }
+
+    @Benchmark
+    public Object getAllSectionCombos() {
+        return solver.get();
+    }
+}
@@ -0,0 +1,78 @@
+package benchmark;
+
+import java.util.function.IntSupplier;
+import java.util.function.Supplier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+
+/**
+ * The time slot hot paths: all pairs of sections through
+ * Section.conflictsWith(), all pairs of slots through TimeSlot.overlaps()
+ * and parsing slots from their OSCAR strings.
+ */
+public class TimeSlotBenchmark extends BenchmarkBase {
+    /**
+     * The workloads of this benchmark, implemented by TimeSlotFixtures
+     */
+    public interface Workloads {
+        /**
+         * Test every pair of synthetic sections for a conflict
+         * @param sectionCount the number of sections
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the number of conflicting pairs
+         */
+        IntSupplier conflicts(int sectionCount, long seed);
+
+        /**
+         * Test every pair of synthetic time slots for an overlap
+         * @param slotCount the number of time slots
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the number of overlapping pairs
+         */
+        IntSupplier overlaps(int slotCount, long seed);
+
+        /**
+         * Parse time slots from the strings OSCAR pages list them by
+         * @param slotCount the number of strings
+         * @param seed the seed of the synthetic data
+         * @return a workload returning the last time slot
+         */
+        Supplier<Object> timeSlotParsing(int slotCount, long seed);
+    }
+
+    @Param({"200"})
+    public int count;
+
+    @Param({"42"})
+    public long seed;
+
+    private IntSupplier conflicts;
+    private IntSupplier overlaps;
+    private Supplier<Object> parsing;
+
+    @Setup
+    public void setUp() {
+        Workloads fixtures = Fixtures.load("TimeSlotFixtures",
+                Workloads.class);
+        conflicts = fixtures.conflicts(count, seed);
+        overlaps = fixtures.overlaps(count, seed);
+        parsing = fixtures.timeSlotParsing(count, seed);
+    }
+
+    @Benchmark
+    public int conflictsWith() {
+        return conflicts.getAsInt();
+    }
+
+    @Benchmark
+    public int overlaps() {
+        return overlaps.getAsInt();
+    }
+
+    @Benchmark
+    public Object parseTimeSlots() {
+        return parsing.get();
+    }
+}
@@ -0,0 +1,508 @@
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class CatalogGenerator {
+    private static final String[] SUBJECTS = {"CS", "MATH", "PHYS", "ISYE",
+            "ECE", "PSYC", "APPH", "CHEM", "BIOS", "ECON"};
+    private static final String[] LAST_NAMES = {"Smith", "Johnson", "Lee",
+            "Brown", "Garcia", "Miller", "Davis", "Wilson", "Moore", "Taylor",
+            "Anderson", "Thomas", "Jackson", "White", "Harris", "Martin"};
+    private static final String[] BUILDINGS = {"Klaus", "Skiles", "Howey",
+            "Clough", "Boggs", "Van Leer", "Instr Center", "College of Comp"};
+    private static final int[] CREDITS = {3, 3, 3, 3, 3, 4, 4, 1, 2};
+    private static final String DAY_CHARS = "MTWRF";
+    private static final int FIRST_BEGIN = 8 * 60;
+    private static final int LAST_END = 21 * 60 + 45;
+    private static final int EARLIEST_BEGIN = 6 * 60;
+    private static final int LATEST_END = 24 * 60 - 1;
+    private static final String CELL = "<td class=\"dddefault\">";
+    private static final String END_CELL = "</td>";
+    // OSCAR leaves the cells of a second meeting blank with &nbsp;, which
+    // saved pages hold as the character itself
+    private static final String BLANK = "\u00a0";
+
+    private long seed;
+    private int courseCount;
+    private int sectionsPerCourse;
+    private double instructorReuse;
+    private double equivalentRate;
+    private double secondMeetingRate;
+    private double gpaCoverage;
+    private double offGridRate;
+    private List<String> patternDays;
+    private List<Integer> patternMinutes;
+    private List<Double> patternWeights;
+
+    /**
+     * Constructor for a generator with a catalog of the size of one
+     * semester's schedule: 10 courses of 12 sections, mostly MWF and TR
+     * @param seed the seed; the same seed and settings give the same catalog
+     */
+    public CatalogGenerator(long seed) {
+        this.seed = seed;
+        this.courseCount = 10;
+        this.sectionsPerCourse = 12;
+        this.instructorReuse = 0.6;
+        this.equivalentRate = 0.2;
+        this.secondMeetingRate = 0.1;
+        this.gpaCoverage = 0.8;
+        this.offGridRate = 0;
+        this.patternDays = new ArrayList<>();
+        this.patternMinutes = new ArrayList<>();
+        this.patternWeights = new ArrayList<>();
+    }
+
+    /**
+     * setter for courseCount
+     * @param courseCount the number of courses
+     * @throws IllegalArgumentException if it is not positive
+     */
+    public void setCourseCount(int courseCount) {
+        if (courseCount <= 0) {
+            throw new IllegalArgumentException("The number of courses must be"
+            + " positive.");
+        }
+        this.courseCount = courseCount;
+    }
+
+    /**
+     * setter for sectionsPerCourse
+     * @param sectionsPerCourse the number of sections of every course
+     * @throws IllegalArgumentException if it is not positive
+     */
+    public void setSectionsPerCourse(int sectionsPerCourse) {
+        if (sectionsPerCourse <= 0) {
+            throw new IllegalArgumentException("The number of sections must be"
+            + " positive.");
+        }
+        this.sectionsPerCourse = sectionsPerCourse;
+    }
+
+    /**
+     * setter for instructorReuse
+     * @param instructorReuse the chance that a section is taught by an
+     *                        instructor already teaching the course
+     */
+    public void setInstructorReuse(double instructorReuse) {
+        this.instructorReuse = checkRate(instructorReuse);
+    }
+
+    /**
+     * setter for equivalentRate
+     * @param equivalentRate the chance that a section copies the time and
+     *                       instructor of the previous one, as cross-listed
+     *                       sections do
+     */
+    public void setEquivalentRate(double equivalentRate) {
+        this.equivalentRate = checkRate(equivalentRate);
+    }
+
+    /**
+     * setter for secondMeetingRate
+     * @param secondMeetingRate the chance that a section has a second
+     *                          meeting, e.g. a recitation, on other days
+     */
+    public void setSecondMeetingRate(double secondMeetingRate) {
+        this.secondMeetingRate = checkRate(secondMeetingRate);
+    }
+
+    /**
+     * setter for gpaCoverage
+     * @param gpaCoverage the chance that an instructor has GPA information
+     */
+    public void setGpaCoverage(double gpaCoverage) {
+        this.gpaCoverage = checkRate(gpaCoverage);
+    }
+
+    /**
+     * setter for offGridRate
+     * @param offGridRate the chance that a meeting starts at any minute
+     *                    from 6:00 am on, instead of on the usual grid, so
+     *                    that it may be off the 5 minute slots of WeekMask
+     *                    or outside of its 7:00 am to 11:00 pm window; 0
+     *                    by default, which keeps the catalogs of a seed
+     */
+    public void setOffGridRate(double offGridRate) {
+        this.offGridRate = checkRate(offGridRate);
+    }
+
+    /**
+     * Add a meeting pattern to the distribution sections are drawn from;
+     * without any, MWF 50 minutes, TR 75 minutes, MW 75 minutes and one
+     * evening a week for 165 minutes are used
+     * @param days the days of the pattern, e.g. "MWF"
+     * @param minutes the length of every meeting
+     * @param weight the relative frequency of the pattern
+     * @throws IllegalArgumentException if the days are not weekdays, the
+     * length does not fit in a day or the weight is not positive
+     */
+    public void addMeetingPattern(String days, int minutes, double weight) {
+        if (days == null || days.isEmpty() || minutes <= 0
+                || FIRST_BEGIN + minutes > LAST_END || weight <= 0) {
+            throw new IllegalArgumentException("Given meeting pattern is"
+            + " malformed.");
+        }
+        for (int i = 0; i < days.length(); i++) {
+            if (DAY_CHARS.indexOf(days.charAt(i)) < 0) {
+                throw new IllegalArgumentException("Given meeting pattern has"
+                + " a day that is not a weekday.");
+            }
+        }
+        patternDays.add(days);
+        patternMinutes.add(minutes);
+        patternWeights.add(weight);
+    }
+
+    /**
+     * Generate the catalog
+     * @return the courses, titled like "CS1000", in generation order
+     */
+    public List<Course> generate() {
+        if (patternDays.isEmpty()) {
+            addMeetingPattern("MWF", 50, 0.45);
+            addMeetingPattern("TR", 75, 0.35);
+            addMeetingPattern("MW", 75, 0.1);
+            addMeetingPattern("M", 165, 0.025);
+            addMeetingPattern("T", 165, 0.025);
+            addMeetingPattern("W", 165, 0.025);
+            addMeetingPattern("R", 165, 0.025);
+        }
+        Random random = new Random(seed);
+        List<Course> courses = new ArrayList<>(courseCount);
+        for (int c = 0; c < courseCount; c++) {
+            courses.add(generateCourse(random, c));
+        }
+        return courses;
+    }
+
+    /**
+     * Write the OSCAR page of every course into a directory, named by the
+     * titles as Schedule.main() expects
+     * @param courses the courses
+     * @param directory the directory, created if missing
+     * @return the paths of the pages, in the order of the courses
+     * @throws IllegalArgumentException if writing fails
+     */
+    public static List<String> writeCatalog(List<Course> courses,
+                                            String directory) {
+        File dir = new File(directory);
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IllegalArgumentException("Cannot create directory "
+            + directory + ".");
+        }
+        List<String> paths = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            String path = new File(dir, course.getTitle() + ".html")
+                    .getPath();
+            writeHtml(course, path);
+            paths.add(path);
+        }
+        return paths;
+    }
+
+    /**
+     * Write the sections of a course as an OSCAR class schedule listing in
+     * UTF-8, one cell per line, which HtmlParser.parseCourse() reads back
+     * @param course the course
+     * @param path the path of the html file
+     * @throws IllegalArgumentException if writing fails
+     */
+    public static void writeHtml(Course course, String path) {
+        String title = course.getTitle();
+        int split = 0;
+        while (split < title.length()
+                && !Character.isDigit(title.charAt(split))) {
+            split++;
+        }
+        String subject = title.substring(0, split);
+        String number = title.substring(split);
+        try {
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(path), "UTF-8"));
+            writer.write("<html>\n<head><title>Class Schedule Listing</title>"
+                    + "</head>\n<body>\n<table class=\"datadisplaytable\""
+                    + " summary=\"This layout table is used to present the"
+                    + " sections found\">\n");
+            for (int i = 0; i < course.getNumberOfSections(); i++) {
+                writeSection(writer, subject, number, course.getSection(i));
+            }
+            writer.write("</table>\n</body>\n</html>\n");
+            writer.close();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Writing " + path
+            + " interrupted.");
+        }
+    }
+
+    /**
+     * Generate one course
+     * @param random the random source
+     * @param index the index of the course
+     * @return the course
+     */
+    private Course generateCourse(Random random, int index) {
+        String title = SUBJECTS[index % SUBJECTS.length]
+                + (1000 + index / SUBJECTS.length);
+        int credit = CREDITS[random.nextInt(CREDITS.length)];
+        List<String> instructors = new ArrayList<>();
+        Map<String, Double> gpas = new HashMap<>();
+        List<Section> sections = new ArrayList<>(sectionsPerCourse);
+        Section previous = null;
+        for (int s = 0; s < sectionsPerCourse; s++) {
+            String crn = String.valueOf(10000
+                    + (index * sectionsPerCourse + s) % 90000);
+            int capacity = 20 + 10 * random.nextInt(10);
+            int actual = random.nextInt(capacity + 6);
+            int wlCapacity = 10 * random.nextInt(3);
+            int wlActual = wlCapacity == 0 ? 0 : random.nextInt(wlCapacity + 1);
+            String status = actual >= capacity ? "C" : "SR";
+            String location = BUILDINGS[random.nextInt(BUILDINGS.length)]
+                    + " " + (100 + random.nextInt(300));
+            Section section;
+            if (previous != null && random.nextDouble() < equivalentRate) {
+                section = new Section(crn, sectionNumber(s), credit, capacity,
+                        actual, wlCapacity, wlActual,
+                        previous.getInstructor(), status);
+                List<TimeSlot> slots = previous.getTimeSlots();
+                for (String[] meeting : meetings(slots)) {
+                    section.addTimeSlots(meeting[0], meeting[1], location);
+                }
+            } else {
+                String instructor;
+                if (!instructors.isEmpty()
+                        && random.nextDouble() < instructorReuse) {
+                    instructor = instructors.get(
+                            random.nextInt(instructors.size()));
+                } else {
+                    int k = instructors.size();
+                    instructor = LAST_NAMES[(k + index) % LAST_NAMES.length]
+                            + ", " + (char) ('A' + k / LAST_NAMES.length % 26)
+                            + ".";
+                    instructors.add(instructor);
+                    if (random.nextDouble() < gpaCoverage) {
+                        gpas.put(instructor, 2 + random.nextInt(201) / 100.0);
+                    }
+                }
+                section = new Section(crn, sectionNumber(s), credit, capacity,
+                        actual, wlCapacity, wlActual, instructor, status);
+                int pattern = pickPattern(random);
+                String days = patternDays.get(pattern);
+                int minutes = patternMinutes.get(pattern);
+                section.addTimeSlots(days, randomTime(random, minutes),
+                        location);
+                if (random.nextDouble() < secondMeetingRate) {
+                    String other = otherDay(random, days);
+                    if (other != null) {
+                        section.addTimeSlots(other, randomTime(random, 50),
+                                location);
+                    }
+                }
+            }
+            sections.add(section);
+            previous = section;
+        }
+        return new Course(title, sections, new InstructorPool(gpas));
+    }
+
+    /**
+     * Draw a meeting pattern by weight
+     * @param random the random source
+     * @return the index of the pattern
+     */
+    private int pickPattern(Random random) {
+        double total = 0;
+        for (double weight : patternWeights) {
+            total += weight;
+        }
+        double r = random.nextDouble() * total;
+        for (int i = 0; i < patternWeights.size() - 1; i++) {
+            r -= patternWeights.get(i);
+            if (r < 0) {
+                return i;
+            }
+        }
+        return patternWeights.size() - 1;
+    }
+
+    /**
+     * Draw a meeting time on the usual grid: meetings up to 50 minutes start
+     * on the hour, up to 75 minutes every 90 minutes, longer ones at 8:00,
+     * 13:00 or 18:00 when they fit; at the off-grid rate, at any minute
+     * from 6:00 am on that ends before midnight instead
+     * @param random the random source
+     * @param minutes the length of the meeting
+     * @return the time like OSCAR lists it, e.g. "09:30 am-10:45 am"
+     */
+    private String randomTime(Random random, int minutes) {
+        int begin;
+        if (offGridRate > 0 && random.nextDouble() < offGridRate) {
+            begin = EARLIEST_BEGIN + random.nextInt(
+                    LATEST_END - minutes - EARLIEST_BEGIN + 1);
+        } else {
+            int step = minutes <= 50 ? 60 : minutes <= 75 ? 90 : 300;
+            int slots = (LAST_END - minutes - FIRST_BEGIN) / step + 1;
+            begin = FIRST_BEGIN + step * random.nextInt(slots);
+        }
+        return clock(begin) + "-" + clock(begin + minutes);
+    }
+
+    /**
+     * Draw a weekday not used by a pattern
+     * @param random the random source
+     * @param days the days of the pattern
+     * @return one day, null if the pattern uses all of them
+     */
+    private static String otherDay(Random random, String days) {
+        StringBuilder free = new StringBuilder();
+        for (int i = 0; i < DAY_CHARS.length(); i++) {
+            if (days.indexOf(DAY_CHARS.charAt(i)) < 0) {
+                free.append(DAY_CHARS.charAt(i));
+            }
+        }
+        if (free.length() == 0) {
+            return null;
+        }
+        int i = random.nextInt(free.length());
+        return free.substring(i, i + 1);
+    }
+
+    /**
+     * Give the section number of a section, "A" to "Z", then "A1"...
+     * @param index the index of the section in its course
+     * @return the section number
+     */
+    private static String sectionNumber(int index) {
+        String letter = String.valueOf((char) ('A' + index % 26));
+        return index < 26 ? letter : letter + index / 26;
+    }
+
+    /**
+     * Write the rows of a section; a second meeting goes in a row with
+     * blank CRN, section number and credit, as OSCAR lists it
+     * @param writer the writer of the page
+     * @param subject the subject of the course
+     * @param number the course number
+     * @param section the section
+     * @throws IOException if writing fails
+     */
+    private static void writeSection(BufferedWriter writer, String subject,
+                                     String number, Section section)
+            throws IOException {
+        List<String[]> meetings = meetings(section.getTimeSlots());
+        for (int m = 0; m < meetings.size(); m++) {
+            String[] meeting = meetings.get(m);
+            boolean first = m == 0;
+            writer.write("<tr>\n");
+            if (first) {
+                writer.write(CELL + "<abbr title=\""
+                        + (section.isOpen() ? "Student Restrictions"
+                        : "Closed") + "\">" + section.getStatus()
+                        + "</abbr>" + END_CELL + "\n");
+                writer.write(CELL + "<a href=\"/pls/bprod/bwckschd"
+                        + ".p_disp_listcrse?subj_in=" + subject
+                        + "&amp;crse_in=" + number + "&amp;crn_in="
+                        + section.getCrn() + "\">" + section.getCrn()
+                        + "</a>" + END_CELL + "\n");
+            } else {
+                writeCell(writer, BLANK);
+                writeCell(writer, BLANK);
+            }
+            writeCell(writer, first ? subject : BLANK);
+            writeCell(writer, first ? number : BLANK);
+            writeCell(writer, first ? section.getSectionNumber() : BLANK);
+            writeCell(writer, first ? "A" : BLANK);
+            writeCell(writer, first ? "L" : BLANK);
+            writeCell(writer, first ? section.getCredit() + ".000" : BLANK);
+            writeCell(writer, first ? subject + " " + number : BLANK);
+            writeCell(writer, meeting[0]);
+            writeCell(writer, meeting[1]);
+            writeCell(writer, String.valueOf(section.getCapacity()));
+            writeCell(writer, String.valueOf(section.getActual()));
+            writeCell(writer, String.valueOf(section.getCapacity()
+                    - section.getActual()));
+            writeCell(writer, String.valueOf(section.getWlCapacity()));
+            writeCell(writer, String.valueOf(section.getWlActual()));
+            writeCell(writer, String.valueOf(section.getWlCapacity()
+                    - section.getWlActual()));
+            writer.write(CELL + section.getInstructor()
+                    + " (<abbr title=\"Primary\">P</abbr>)" + END_CELL + "\n");
+            writeCell(writer, meeting[2]);
+            writeCell(writer, BLANK);
+            writer.write("</tr>\n");
+        }
+    }
+
+    /**
+     * Write a plain cell on its own line
+     * @param writer the writer of the page
+     * @param value the text of the cell
+     * @throws IOException if writing fails
+     */
+    private static void writeCell(BufferedWriter writer, String value)
+            throws IOException {
+        writer.write(CELL + value + END_CELL + "\n");
+    }
+
+    /**
+     * Group time slots held at the same time and place into meetings
+     * @param slots the time slots of a section
+     * @return the days, the time like OSCAR lists it and the location of
+     * every meeting, in the order of their first time slot
+     */
+    private static List<String[]> meetings(List<TimeSlot> slots) {
+        List<String[]> meetings = new ArrayList<>();
+        List<TimeSlot> firsts = new ArrayList<>();
+        for (TimeSlot slot : slots) {
+            char day = DAY_CHARS.charAt(slot.getWeekDay().ordinal());
+            int m = 0;
+            while (m < firsts.size() && !(firsts.get(m).getBegin()
+                    == slot.getBegin() && firsts.get(m).getEnd()
+                    == slot.getEnd() && firsts.get(m).getLocation()
+                    .equals(slot.getLocation()))) {
+                m++;
+            }
+            if (m == firsts.size()) {
+                firsts.add(slot);
+                meetings.add(new String[] {String.valueOf(day),
+                        clock(slot.getBegin()) + "-" + clock(slot.getEnd()),
+                        slot.getLocation()});
+            } else {
+                meetings.get(m)[0] += day;
+            }
+        }
+        return meetings;
+    }
+
+    /**
+     * Format a minute of the day like OSCAR pages do
+     * @param minute the minute of the day
+     * @return e.g. "01:10 pm"
+     */
+    private static String clock(int minute) {
+        int hour = minute / 60 % 12 == 0 ? 12 : minute / 60 % 12;
+        return String.format("%02d:%02d %s", hour, minute % 60,
+                minute < 12 * 60 ? "am" : "pm");
+    }
+
+    /**
+     * Check a probability
+     * @param rate the probability
+     * @return the probability
+     * @throws IllegalArgumentException if it is not between 0 and 1
+     */
+    private static double checkRate(double rate) {
+        if (!(rate >= 0 && rate <= 1)) {
+            throw new IllegalArgumentException("Given rate must be between 0"
+            + " and 1.");
+        }
+        return rate;
+    }
+}
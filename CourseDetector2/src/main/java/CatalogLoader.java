@@ -0,0 +1,160 @@
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+public class CatalogLoader {
+    private static final String PAGE_SUFFIX = ".html";
+    private static final long MAP_THRESHOLD = 256 * 1024;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Parse every html page of a directory on the common fork-join pool
+     * @param directory the directory of OSCAR pages, e.g. the one
+     *                  SeleniumChrome.pullAllPages() saves into
+     * @return the sections of every page, keyed by its title, i.e. the file
+     * name without ".html", in the order of the titles
+     * @throws IllegalArgumentException if the directory cannot be listed or
+     * a page cannot be read or parsed
+     */
+    public static Map<String, List<Section>> loadAll(String directory) {
+        return loadAll(directory, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Parse every html page of a directory on a fork-join pool, one page
+     * per task; every page is read and decoded as a whole, mapped if it is
+     * large, without reading it line by line into Strings
+     * @param directory the directory of OSCAR pages
+     * @param pool the pool to parse the pages on
+     * @return the sections of every page, keyed by its title, i.e. the file
+     * name without ".html", in the order of the titles
+     * @throws IllegalArgumentException if the directory cannot be listed or
+     * a page cannot be read or parsed
+     */
+    public static Map<String, List<Section>> loadAll(String directory,
+                                                     ForkJoinPool pool) {
+        if (directory == null || pool == null) {
+            throw new IllegalArgumentException("Given directory or pool is"
+            + " null.");
+        }
+        File[] files = new File(directory).listFiles();
+        if (files == null) {
+            throw new IllegalArgumentException("Given directory " + directory
+            + " does not exist or cannot be listed.");
+        }
+        List<String> paths = new ArrayList<>();
+        for (File file : files) {
+            if (file.isFile() && file.getName().endsWith(PAGE_SUFFIX)) {
+                paths.add(file.getPath());
+            }
+        }
+        Collections.sort(paths);
+
+        List<List<Section>> sections = new ArrayList<>(
+                Collections.<List<Section>>nCopies(paths.size(), null));
+        pool.invoke(new PageTask(paths, sections, 0, paths.size()));
+
+        Map<String, List<Section>> catalog = new TreeMap<>();
+        for (int i = 0; i < paths.size(); i++) {
+            String name = new File(paths.get(i)).getName();
+            catalog.put(name.substring(0,
+                    name.length() - PAGE_SUFFIX.length()), sections.get(i));
+        }
+        return catalog;
+    }
+
+    /**
+     * Parse one html page read as a whole; gives the same sections as
+     * HtmlParser.parseCourse(path)
+     * @param path the path to the html file
+     * @return a list of all sections
+     * @throws IllegalArgumentException if the page cannot be read or parsed
+     */
+    public static List<Section> load(String path) {
+        return new HtmlParser().parseCourse(decode(path), path);
+    }
+
+    /**
+     * Read a file and decode it as HtmlParser does, in the UTF-8 that
+     * SeleniumChrome saves pages in, replacing malformed input. Files from
+     * MAP_THRESHOLD bytes on are mapped; smaller ones cost less to read into
+     * the heap in one call than to map and unmap. The page is kept as one
+     * String, which HtmlParser scans far faster than the decoded buffer
+     * itself.
+     * @param path the path to the file
+     * @return the characters of the file
+     * @throws IllegalArgumentException if the file cannot be read
+     */
+    private static String decode(String path) {
+        try (FileChannel channel = FileChannel.open(Paths.get(path),
+                StandardOpenOption.READ)) {
+            long size = channel.size();
+            ByteBuffer bytes;
+            if (size >= MAP_THRESHOLD) {
+                bytes = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                bytes = ByteBuffer.allocate((int) size);
+                while (bytes.hasRemaining()) {
+                    if (channel.read(bytes) < 0) {
+                        break;
+                    }
+                }
+                bytes.flip();
+            }
+            return UTF_8.decode(bytes).toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Given html file " + path
+            + " does not exist or unknown disruption happened.");
+        }
+    }
+
+    /**
+     * Parses a range of the pages, splitting it in halves until a task has
+     * one page
+     */
+    private static class PageTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private List<String> paths;
+        private List<List<Section>> sections;
+        private int begin;
+        private int end;
+
+        /**
+         * Constructor
+         * @param paths the paths of all pages
+         * @param sections the sections of all pages, set by the tasks
+         * @param begin the first page of this task
+         * @param end the page after the last of this task
+         */
+        PageTask(List<String> paths, List<List<Section>> sections, int begin,
+                 int end) {
+            this.paths = paths;
+            this.sections = sections;
+            this.begin = begin;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - begin > 1) {
+                int middle = (begin + end) >>> 1;
+                invokeAll(new PageTask(paths, sections, begin, middle),
+                        new PageTask(paths, sections, middle, end));
+            } else if (end > begin) {
+                sections.set(begin, load(paths.get(begin)));
+            }
+        }
+    }
+}
@@ -0,0 +1,268 @@
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+public class CatalogSnapshot {
+    private static final int MAGIC = 0x43445350;
+    private static final int SCHEMA_VERSION = 1;
+    private static final int HEADER_LENGTH = 16;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    /**
+     * Write a snapshot of some courses: all of their sections with time
+     * slots, whether filtered out or not, and the GPA of their instructors
+     * along with the course averages. The file is a header of four ints,
+     * the magic number, the schema version, the length of the payload and
+     * its CRC32, followed by the payload: a table of all strings, then
+     * every course by the ids of its strings.
+     * @param courses the courses
+     * @param fileName the file to write
+     * @throws IllegalArgumentException if the courses are null or empty, or
+     * the file cannot be written
+     */
+    public static void write(List<Course> courses, String fileName) {
+        if (courses == null || courses.isEmpty() || fileName == null) {
+            throw new IllegalArgumentException("Cannot write a snapshot of"
+            + " null or no courses, or to a null file.");
+        }
+        StringDictionary strings = new StringDictionary();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        try {
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeInt(courses.size());
+            for (Course course : courses) {
+                writeCourse(course, strings, out);
+            }
+            out.flush();
+
+            DataOutputStream table = new DataOutputStream(payload);
+            table.writeInt(strings.size());
+            for (int id = 0; id < strings.size(); id++) {
+                String value = strings.value(id);
+                if (value == null) {
+                    table.writeInt(-1);
+                } else {
+                    byte[] bytes = value.getBytes(UTF_8);
+                    table.writeInt(bytes.length);
+                    table.write(bytes);
+                }
+            }
+            table.flush();
+            body.writeTo(payload);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload.toByteArray(), 0, payload.size());
+            DataOutputStream file = new DataOutputStream(
+                    new FileOutputStream(fileName));
+            try {
+                file.writeInt(MAGIC);
+                file.writeInt(SCHEMA_VERSION);
+                file.writeInt(payload.size());
+                file.writeInt((int) crc.getValue());
+                payload.writeTo(file);
+            } finally {
+                file.close();
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Writing snapshot " + fileName
+            + " interrupted.");
+        }
+    }
+
+    /**
+     * Read the courses of a snapshot, provided that none of the html pages
+     * it was made from was modified after it was written; pages that no
+     * longer exist leave the snapshot the only copy and do not reject it.
+     * GPA information cannot be checked this way.
+     * @param fileName the file of the snapshot
+     * @param sources the html files of the courses
+     * @return the courses, in the order they were written, with all of
+     * their sections
+     * @throws IllegalArgumentException if the sources are null, a page is
+     * newer than the snapshot, or the snapshot cannot be read
+     */
+    public static List<Course> read(String fileName, String[] sources) {
+        if (fileName == null || sources == null) {
+            throw new IllegalArgumentException("Given file name or sources"
+            + " are null.");
+        }
+        long written = new File(fileName).lastModified();
+        for (String source : sources) {
+            File page = new File(source);
+            if (page.isFile() && page.lastModified() > written) {
+                throw new IllegalArgumentException("Given snapshot "
+                + fileName + " is older than its page " + source + ".");
+            }
+        }
+        return read(fileName);
+    }
+
+    /**
+     * Read the courses of a snapshot back in one mapped read, without any
+     * html parsing or network access
+     * @param fileName the file of the snapshot
+     * @return the courses, in the order they were written, with all of
+     * their sections
+     * @throws IllegalArgumentException if the file cannot be read, is not a
+     * snapshot, has another schema version or fails its checksum
+     */
+    public static List<Course> read(String fileName) {
+        if (fileName == null) {
+            throw new IllegalArgumentException("Given file name is null.");
+        }
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(Paths.get(fileName),
+                StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                    channel.size());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " does not exist or unknown disruption happened.");
+        }
+        if (buffer.remaining() < HEADER_LENGTH
+                || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("Given file " + fileName
+            + " is not a catalog snapshot.");
+        }
+        int version = buffer.getInt();
+        if (version != SCHEMA_VERSION) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " has schema version " + version + ", but only version "
+            + SCHEMA_VERSION + " can be read.");
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length < 0 || length != buffer.remaining()) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " is truncated.");
+        }
+        CRC32 crc = new CRC32();
+        crc.update(buffer.duplicate());
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " fails its checksum.");
+        }
+
+        try {
+            String[] strings = new String[buffer.getInt()];
+            for (int id = 0; id < strings.length; id++) {
+                int size = buffer.getInt();
+                if (size >= 0) {
+                    byte[] bytes = new byte[size];
+                    buffer.get(bytes);
+                    strings[id] = new String(bytes, UTF_8);
+                }
+            }
+            int courseCount = buffer.getInt();
+            List<Course> courses = new ArrayList<>(courseCount);
+            for (int i = 0; i < courseCount; i++) {
+                courses.add(readCourse(buffer, strings));
+            }
+            return courses;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " is malformed: " + e);
+        }
+    }
+
+    /**
+     * Write one course by the ids of its strings
+     * @param course the course
+     * @param strings the table of strings to add its strings to
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeCourse(Course course, StringDictionary strings,
+                                    DataOutputStream out) throws IOException {
+        out.writeInt(strings.id(course.getTitle()));
+        InstructorPool pool = course.getInstructorPool();
+        out.writeDouble(pool.getAvgGPA());
+        Map<String, Double> gpas = pool.getInstructorGPAs();
+        out.writeInt(gpas.size());
+        for (Map.Entry<String, Double> entry : gpas.entrySet()) {
+            out.writeInt(strings.id(entry.getKey()));
+            out.writeDouble(entry.getValue());
+        }
+
+        List<Section> sections = course.getAllSections();
+        out.writeInt(sections.size());
+        for (Section section : sections) {
+            out.writeInt(strings.id(section.getCrn()));
+            out.writeInt(strings.id(section.getSectionNumber()));
+            out.writeInt(section.getCredit());
+            out.writeInt(section.getCapacity());
+            out.writeInt(section.getActual());
+            out.writeInt(section.getWlCapacity());
+            out.writeInt(section.getWlActual());
+            out.writeInt(strings.id(section.getInstructor()));
+            out.writeInt(strings.id(section.getStatus()));
+            List<TimeSlot> slots = section.getTimeSlots();
+            out.writeInt(slots.size());
+            for (TimeSlot slot : slots) {
+                out.writeByte(slot.getWeekDay().ordinal());
+                out.writeInt(strings.id(slot.getLocation()));
+                out.writeShort(slot.getBegin());
+                out.writeShort(slot.getEnd());
+            }
+        }
+    }
+
+    /**
+     * Read one course written by writeCourse()
+     * @param buffer the buffer at the course
+     * @param strings the table of strings
+     * @return the course
+     */
+    private static Course readCourse(ByteBuffer buffer, String[] strings) {
+        String title = strings[buffer.getInt()];
+        double avgGPA = buffer.getDouble();
+        int instructorCount = buffer.getInt();
+        Map<String, Double> gpas = new HashMap<>();
+        for (int i = 0; i < instructorCount; i++) {
+            String name = strings[buffer.getInt()];
+            gpas.put(name, buffer.getDouble());
+        }
+
+        int sectionCount = buffer.getInt();
+        List<Section> sections = new ArrayList<>(sectionCount);
+        WeekDay[] days = WeekDay.values();
+        for (int i = 0; i < sectionCount; i++) {
+            String crn = strings[buffer.getInt()];
+            String sectionNumber = strings[buffer.getInt()];
+            int credit = buffer.getInt();
+            int capacity = buffer.getInt();
+            int actual = buffer.getInt();
+            int wlCapacity = buffer.getInt();
+            int wlActual = buffer.getInt();
+            String instructor = strings[buffer.getInt()];
+            String status = strings[buffer.getInt()];
+            Section section = new Section(crn, sectionNumber, credit,
+                    capacity, actual, wlCapacity, wlActual, instructor,
+                    status);
+            int slotCount = buffer.getInt();
+            for (int k = 0; k < slotCount; k++) {
+                WeekDay day = days[buffer.get()];
+                String location = strings[buffer.getInt()];
+                int begin = buffer.getShort();
+                int end = buffer.getShort();
+                section.addTimeSlot(new TimeSlot(day, location, begin, end));
+            }
+            sections.add(section);
+        }
+        return new Course(title, sections,
+                new InstructorPool(gpas, avgGPA));
+    }
+}
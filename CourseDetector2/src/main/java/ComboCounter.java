@@ -0,0 +1,123 @@
+import java.util.List;
+
+public class ComboCounter {
+    private List<Course> courses;
+    private ConflictTable table;
+    private CourseOrder courseOrder;
+    private int[] order;
+    private long total;
+    private long[][] participation;
+    private long nodes;
+
+    /**
+     * Constructor
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param courseOrder the order to visit the courses in
+     */
+    public ComboCounter(List<Course> courses, ConflictTable table,
+                        CourseOrder courseOrder) {
+        this.courses = courses;
+        this.table = table;
+        this.courseOrder = courseOrder;
+    }
+
+    /**
+     * Count all combinations without conflict and how many of them use each
+     * unique section, without building any combo; the last course of every
+     * branch is counted with a bit count instead of being visited
+     * @return the number of combinations
+     */
+    public long count() {
+        int n = courses.size();
+        participation = new long[n][];
+        for (int i = 0; i < n; i++) {
+            participation[i] = new long[table.getUniqueCount(i)];
+        }
+        order = courseOrder.initialOrder(table);
+        nodes = 0;
+        total = n == 0 ? 0 : countHelper(0, table.newDomains());
+        return total;
+    }
+
+    /**
+     * getter for total
+     * @return the number of combinations found by the last count()
+     */
+    public long getTotal() {
+        return total;
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried by the last count()
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Give the number of combinations using a unique section
+     * @param course the index of the course
+     * @param unique the position in Course.getUniqueSectionIndices()
+     * @return the number of combinations with that section
+     */
+    public long getParticipation(int course, int unique) {
+        return participation[course][unique];
+    }
+
+    /**
+     * Give the number of combinations using a section, i.e. the section or
+     * one equivalent to it; this is how many schedules stay possible when
+     * registering for its CRN
+     * @param course the index of the course
+     * @param sectionIndex the index in the sections list of the course
+     * @return the number of combinations with that section
+     */
+    public long getSectionParticipation(int course, int sectionIndex) {
+        return participation[course]
+                [table.getUniquePosition(course, sectionIndex)];
+    }
+
+    /**
+     * Count the combinations of a subtree
+     * @param depth the number of courses chosen so far
+     * @param domains the remaining compatible sections at every depth
+     * @return the number of combinations in the subtree
+     */
+    private long countHelper(int depth, long[][][] domains) {
+        courseOrder.chooseNext(domains[depth], order, depth);
+        int course = order[depth];
+        long[] current = domains[depth][course];
+        long[] counts = participation[course];
+        if (depth == order.length - 1) {
+            long leaves = 0;
+            for (int w = 0; w < current.length; w++) {
+                long bits = current[w];
+                leaves += Long.bitCount(bits);
+                while (bits != 0) {
+                    counts[(w << 6) + Long.numberOfTrailingZeros(bits)]++;
+                    bits &= bits - 1;
+                }
+            }
+            nodes += leaves;
+            return leaves;
+        }
+        long sum = 0;
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                if (table.narrow(course, unique, domains[depth],
+                        domains[depth + 1], order, depth + 1)) {
+                    long sub = countHelper(depth + 1, domains);
+                    counts[unique] += sub;
+                    sum += sub;
+                }
+            }
+        }
+        return sum;
+    }
+}
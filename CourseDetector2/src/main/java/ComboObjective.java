@@ -0,0 +1,159 @@
+public interface ComboObjective {
+    /**
+     * Score a complete combo; higher is better
+     * @param state the state holding all sections of the combo
+     * @return the score
+     */
+    double evaluate(ComboState state);
+
+    /**
+     * Give an optimistic score of a partial combo, so that branch-and-bound
+     * can cut the branch when even the bound cannot compete
+     * @param state the state holding the sections chosen so far
+     * @return a value no less than evaluate() of any completion of the
+     * partial combo
+     */
+    double bound(ComboState state);
+
+    /**
+     * The average GPA, as CourseCombo.compareTo() ranks combos
+     * @return the objective
+     */
+    static ComboObjective averageGPA() {
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                return state.getAverageGPA();
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                return state.getAverage(state.getPoints()
+                        + state.getRestPoints());
+            }
+        };
+    }
+
+    /**
+     * The fewer minutes between classes, the better; scores are the
+     * negated idle minutes. A later section can fill a gap, so the bound
+     * subtracts the most class minutes the remaining courses can add.
+     * @return the objective
+     */
+    static ComboObjective idleMinutes() {
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                return -state.getIdleMinutes();
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                return -Math.max(0, state.getIdleMinutes()
+                        - state.getRestBusyMinutes());
+            }
+        };
+    }
+
+    /**
+     * The later the first class of the week begins, the better; scores are
+     * minutes of the day, and a combo without classes scores
+     * ComboState.NO_CLASS
+     * @return the objective
+     */
+    static ComboObjective earliestStart() {
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                return state.getEarliestBegin();
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                return state.getEarliestBegin();
+            }
+        };
+    }
+
+    /**
+     * The fewer days on campus, the better; scores are the negated number
+     * of days with a class
+     * @return the objective
+     */
+    static ComboObjective campusDays() {
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                return -state.getCampusDays();
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                return -state.getCampusDays();
+            }
+        };
+    }
+
+    /**
+     * The more seats are left in the fullest chosen section, the better, as
+     * that one decides if the combo can be registered for; scores are the
+     * least open seats of the combo
+     * @return the objective
+     */
+    static ComboObjective openSeats() {
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                return state.getMinOpenSeats();
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                return state.getMinOpenSeats();
+            }
+        };
+    }
+
+    /**
+     * A weighted sum of objectives; bounds add up as well, which is why the
+     * weights cannot be negative
+     * @param objectives the objectives to combine
+     * @param weights the weight of every objective
+     * @return the objective
+     * @throws IllegalArgumentException if the arrays are null, of different
+     * length or a weight is negative
+     */
+    static ComboObjective weightedSum(final ComboObjective[] objectives,
+                                      final double[] weights) {
+        if (objectives == null || weights == null
+                || objectives.length != weights.length) {
+            throw new IllegalArgumentException("Given objectives and weights"
+            + " are null or of different length.");
+        }
+        for (double weight : weights) {
+            if (weight < 0) {
+                throw new IllegalArgumentException("The weights of a sum of"
+                + " objectives cannot be negative.");
+            }
+        }
+        return new ComboObjective() {
+            @Override
+            public double evaluate(ComboState state) {
+                double sum = 0;
+                for (int i = 0; i < objectives.length; i++) {
+                    sum += weights[i] * objectives[i].evaluate(state);
+                }
+                return sum;
+            }
+
+            @Override
+            public double bound(ComboState state) {
+                double sum = 0;
+                for (int i = 0; i < objectives.length; i++) {
+                    sum += weights[i] * objectives[i].bound(state);
+                }
+                return sum;
+            }
+        };
+    }
+}
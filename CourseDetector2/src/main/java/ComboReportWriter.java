@@ -0,0 +1,442 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.text.DecimalFormatSymbols;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Stream;
+
+public class ComboReportWriter implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int COLUMN_WIDTH = 25;
+    private static final int DECIMALS = 4;
+    private static final double SCALE = 10000;
+    private static final double MAX_FAST = 1e15;
+    private static final double HALF_TOLERANCE = 1e-6;
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    private ReportFormat format;
+    private Charset charset;
+    private Locale locale;
+    private int width;
+    private byte[][][] labels;
+    private byte[][] skipped;
+    private byte[] averagePrefix;
+    private byte[] rowEnd;
+    private byte[] separator;
+    private byte[] digits;
+    private int[] workspace;
+    private ByteBuffer buffer;
+    private FileChannel channel;
+    private long count;
+
+    /**
+     * Constructor opening a report and writing its header; the labels of
+     * all sections are formatted here once, so the courses must not be
+     * filtered while the report is written. TEXT is the format Schedule
+     * has always written course_combo.txt in, in the platform charset like
+     * FileWriter; CSV and JSON_LINES are written in UTF-8.
+     * @param courses the courses of the combos, in the order of their titles
+     * @param fileName the path of the report, replaced if it exists
+     * @param format the format of the report
+     * @throws IllegalArgumentException if given parameters are null or the
+     * file cannot be opened
+     */
+    public ComboReportWriter(List<Course> courses, String fileName,
+                             ReportFormat format) {
+        if (courses == null || fileName == null || format == null) {
+            throw new IllegalArgumentException("Cannot write a report of null"
+            + " courses, to a null file name or in a null format.");
+        }
+        this.format = format;
+        this.charset = format == ReportFormat.TEXT ? Charset.defaultCharset()
+                : UTF_8;
+        this.locale = format == ReportFormat.TEXT
+                ? Locale.getDefault(Locale.Category.FORMAT) : Locale.ROOT;
+        this.width = courses.size();
+        this.labels = new byte[width][][];
+        this.skipped = new byte[width][];
+        for (int i = 0; i < width; i++) {
+            labels[i] = labelCourse(courses.get(i), i);
+            skipped[i] = bytes(label(courses.get(i).getTitle(), null, i));
+        }
+        if (format == ReportFormat.TEXT) {
+            averagePrefix = new byte[0];
+            rowEnd = bytes("\n");
+        } else if (format == ReportFormat.CSV) {
+            averagePrefix = bytes(",");
+            rowEnd = bytes("\n");
+        } else {
+            averagePrefix = bytes(",\"averageGPA\":");
+            rowEnd = bytes("}\n");
+        }
+        DecimalFormatSymbols symbols
+                = DecimalFormatSymbols.getInstance(locale);
+        // localized digits are left to String.format()
+        if (symbols.getZeroDigit() == '0') {
+            separator = bytes(String.valueOf(symbols.getDecimalSeparator()));
+        }
+        this.digits = new byte[32];
+        this.workspace = new int[width];
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try {
+            channel = FileChannel.open(Paths.get(fileName),
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot open " + fileName
+            + " for writing.");
+        }
+        writeHeader(courses);
+    }
+
+    /**
+     * getter for count
+     * @return the number of combos written so far
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Write one combo
+     * @param combo the combo
+     */
+    public void write(CourseCombo combo) {
+        for (int i = 0; i < width; i++) {
+            workspace[i] = combo.getCourseIndex(i);
+        }
+        write(workspace, combo.getAverageGPA());
+    }
+
+    /**
+     * Write one combo
+     * @param indices the section index chosen for every course, or -1 for a
+     *                course not taken
+     * @param averageGPA the average GPA of the combo
+     * @throws IllegalArgumentException if the indices do not fit the courses
+     */
+    public void write(int[] indices, double averageGPA) {
+        if (indices == null || indices.length != width) {
+            throw new IllegalArgumentException("Given indices do not match the"
+            + " courses of the report.");
+        }
+        for (int i = 0; i < width; i++) {
+            int index = indices[i];
+            if (index < -1 || index >= labels[i].length) {
+                throw new IllegalArgumentException("Given index exceeds the"
+                + " bounds for sections list.");
+            }
+            put(index == -1 ? skipped[i] : labels[i][index]);
+        }
+        put(averagePrefix);
+        putAverage(averageGPA);
+        put(rowEnd);
+        count++;
+    }
+
+    /**
+     * Write all rows of a combo table in row order, without creating a
+     * CourseCombo for each of them
+     * @param table the combos, e.g. Schedule.getAllSectionComboTable() or
+     *              Schedule.getSubsetCombos()
+     */
+    public void writeAll(ComboTable table) {
+        for (int row = 0; row < table.size(); row++) {
+            for (int i = 0; i < width; i++) {
+                workspace[i] = table.getIndex(row, i);
+            }
+            write(workspace, table.getAverageGPA(row));
+        }
+    }
+
+    /**
+     * Write all combos of a list in order
+     * @param combos the combos
+     */
+    public void writeAll(List<CourseCombo> combos) {
+        for (CourseCombo combo : combos) {
+            write(combo);
+        }
+    }
+
+    /**
+     * Write all combos of a stream as they come, e.g. straight from
+     * Schedule.streamSectionCombos(), without holding them in memory
+     * @param combos the combos; a parallel stream is written in its
+     *               encounter order
+     */
+    public void writeAll(Stream<CourseCombo> combos) {
+        combos.forEachOrdered(this::write);
+    }
+
+    /**
+     * Write the footer of the report, flush the buffer and close the file
+     * @throws IOException if the file cannot be written or closed
+     */
+    @Override
+    public void close() throws IOException {
+        if (!channel.isOpen()) {
+            return;
+        }
+        try {
+            if (format == ReportFormat.TEXT) {
+                put(bytes("Total Combinations: " + count));
+            }
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Write the titles of the columns
+     * @param courses the courses of the combos
+     */
+    private void writeHeader(List<Course> courses) {
+        StringBuilder builder = new StringBuilder();
+        if (format == ReportFormat.TEXT) {
+            for (Course course : courses) {
+                builder.append(String.format("%-25s", course.getTitle()));
+            }
+            builder.append(String.format("%-25s\n", "Average GPA"));
+        } else if (format == ReportFormat.CSV) {
+            for (Course course : courses) {
+                builder.append(csv(course.getTitle())).append(',');
+            }
+            builder.append("Average GPA\n");
+        }
+        put(bytes(builder.toString()));
+    }
+
+    /**
+     * Format the label of every section of a course once; equivalent
+     * sections share their label
+     * @param course the course
+     * @param position the index of the course in the report
+     * @return the label by index in the sections list of the course
+     */
+    private byte[][] labelCourse(Course course, int position) {
+        byte[][] courseLabels = new byte[course.getNumberOfSections()][];
+        for (int u = 0; u < course.getNumberOfUniqueSections(); u++) {
+            int start = course.getUniqueSectionStart(u);
+            int end = course.getUniqueSectionEnd(u);
+            byte[] label;
+            if (format == ReportFormat.TEXT) {
+                label = bytes(String.format("%25s",
+                        course.getAllEquivalentSectionNumbers(start)));
+            } else {
+                String[][] fields = new String[2][end - start];
+                for (int s = start; s < end; s++) {
+                    Section section = course.getSection(s);
+                    fields[0][s - start] = section.getSectionNumber();
+                    fields[1][s - start] = section.getCrn();
+                }
+                label = bytes(label(course.getTitle(), fields, position));
+            }
+            for (int s = start; s < end; s++) {
+                courseLabels[s] = label;
+            }
+        }
+        return courseLabels;
+    }
+
+    /**
+     * Build the CSV or JSON label of a unique section, with the separator
+     * in front of it
+     * @param title the title of the course
+     * @param fields the section numbers and CRNs of the equivalent
+     *               sections, or null for a course not taken
+     * @param position the index of the course in the report
+     * @return the label
+     */
+    private String label(String title, String[][] fields, int position) {
+        if (format == ReportFormat.TEXT) {
+            return String.format("%25s", "");
+        }
+        StringBuilder builder = new StringBuilder();
+        if (format == ReportFormat.CSV) {
+            if (position > 0) {
+                builder.append(',');
+            }
+            if (fields != null) {
+                builder.append(csv(String.join(" ", fields[0])));
+            }
+            return builder.toString();
+        }
+        builder.append(position > 0 ? ',' : '{').append(json(title))
+                .append(':');
+        if (fields == null) {
+            return builder.append("null").toString();
+        }
+        builder.append("{\"sections\":[");
+        for (int k = 0; k < fields[0].length; k++) {
+            builder.append(k > 0 ? "," : "").append(json(fields[0][k]));
+        }
+        builder.append("],\"crns\":[");
+        for (int k = 0; k < fields[1].length; k++) {
+            builder.append(k > 0 ? "," : "").append(json(fields[1][k]));
+        }
+        return builder.append("]}").toString();
+    }
+
+    /**
+     * Quote a CSV field if needed
+     * @param field the field
+     * @return the field as it goes into a CSV line
+     */
+    private static String csv(String field) {
+        if (field.indexOf(',') < 0 && field.indexOf('"') < 0
+                && field.indexOf('\n') < 0 && field.indexOf('\r') < 0) {
+            return field;
+        }
+        return "\"" + field.replace("\"", "\"\"") + "\"";
+    }
+
+    /**
+     * Quote a JSON string
+     * @param value the string
+     * @return the JSON string literal
+     */
+    private static String json(String value) {
+        StringBuilder builder = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                builder.append('\\').append(c);
+            } else if (c < 0x20) {
+                builder.append(String.format("\\u%04x", (int) c));
+            } else {
+                builder.append(c);
+            }
+        }
+        return builder.append('"').toString();
+    }
+
+    /**
+     * Write an average GPA as "%25.4f" does for TEXT, or with four decimals
+     * for the other formats. Rounding is done on the decimal digits of the
+     * value like Formatter does; only values within a rounding error of a
+     * tie need BigDecimal to tell which way they go.
+     * @param value the average GPA
+     */
+    private void putAverage(double value) {
+        double scaled = value * SCALE;
+        if (separator == null || Double.doubleToRawLongBits(value) < 0
+                || !(scaled < MAX_FAST)) {
+            putSlowAverage(value);
+            return;
+        }
+        long whole = (long) scaled;
+        double fraction = scaled - whole;
+        long units;
+        if (Math.abs(fraction - 0.5) > HALF_TOLERANCE) {
+            units = fraction > 0.5 ? whole + 1 : whole;
+        } else {
+            units = BigDecimal.valueOf(value)
+                    .setScale(DECIMALS, RoundingMode.HALF_UP)
+                    .unscaledValue().longValue();
+        }
+        int position = digits.length;
+        for (int d = 0; d < DECIMALS; d++) {
+            digits[--position] = (byte) ('0' + units % 10);
+            units /= 10;
+        }
+        for (int b = separator.length - 1; b >= 0; b--) {
+            digits[--position] = separator[b];
+        }
+        do {
+            digits[--position] = (byte) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        int length = digits.length - position;
+        if (format == ReportFormat.TEXT) {
+            for (int pad = length; pad < COLUMN_WIDTH; pad++) {
+                putByte((byte) ' ');
+            }
+        }
+        if (buffer.remaining() < length) {
+            flush();
+        }
+        buffer.put(digits, position, length);
+    }
+
+    /**
+     * Write an average GPA the fast path does not cover, such as NaN
+     * @param value the average GPA
+     */
+    private void putSlowAverage(double value) {
+        if (format == ReportFormat.TEXT) {
+            put(bytes(String.format(locale, "%25.4f", value)));
+        } else if (Double.isNaN(value) || Double.isInfinite(value)) {
+            put(bytes(format == ReportFormat.CSV ? "" : "null"));
+        } else {
+            put(bytes(String.format(locale, "%.4f", value)));
+        }
+    }
+
+    /**
+     * Encode a string in the charset of the report
+     * @param text the string
+     * @return the bytes
+     */
+    private byte[] bytes(String text) {
+        return text.getBytes(charset);
+    }
+
+    /**
+     * Append one byte to the buffer
+     * @param b the byte
+     */
+    private void putByte(byte b) {
+        if (!buffer.hasRemaining()) {
+            flush();
+        }
+        buffer.put(b);
+    }
+
+    /**
+     * Append bytes to the buffer, flushing it when full
+     * @param bytes the bytes
+     */
+    private void put(byte[] bytes) {
+        if (buffer.remaining() < bytes.length) {
+            flush();
+            if (bytes.length > buffer.capacity()) {
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+        }
+        buffer.put(bytes);
+    }
+
+    /**
+     * Write the buffer to the file and clear it
+     */
+    private void flush() {
+        buffer.flip();
+        writeFully(buffer);
+        buffer.clear();
+    }
+
+    /**
+     * Write all remaining bytes of a buffer to the file
+     * @param source the buffer
+     * @throws IllegalArgumentException if writing fails
+     */
+    private void writeFully(ByteBuffer source) {
+        try {
+            while (source.hasRemaining()) {
+                channel.write(source);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Writing interrupted.");
+        }
+    }
+}
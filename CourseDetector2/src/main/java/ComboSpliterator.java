@@ -0,0 +1,247 @@
+import java.util.Arrays;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+public class ComboSpliterator implements Spliterator<CourseCombo> {
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private CourseOrder courseOrder;
+    private int[] order;
+    private int[][] orders;
+    private long[][][] domains;
+    private long[][] pending;
+    private int[] currCombo;
+    private double[] points;
+    private int base;
+    private int depth;
+    private long estimate;
+
+    /**
+     * Constructor for a spliterator over the whole search tree
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses; it must not
+     *              be updated while the spliterator is in use
+     * @param scores the points of every unique section of the courses
+     * @param courseOrder the order to visit the courses in
+     */
+    public ComboSpliterator(List<Course> courses, ConflictTable table,
+                            ScoreTable scores, CourseOrder courseOrder) {
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.courseOrder = courseOrder;
+        this.order = courseOrder.initialOrder(table);
+        this.orders = new int[courses.size()][];
+        this.domains = table.newDomains();
+        this.pending = new long[courses.size()][];
+        this.currCombo = new int[courses.size()];
+        this.points = new double[courses.size() + 1];
+        this.base = 0;
+        this.depth = 0;
+        if (courses.size() > 0) {
+            courseOrder.chooseNext(domains[0], order, 0);
+            saveOrder(0);
+            long[] first = domains[0][order[0]];
+            pending[0] = Arrays.copyOf(first, first.length);
+        }
+        this.estimate = estimateLeaves();
+    }
+
+    /**
+     * Constructor for a spliterator over the subtrees of some sections of one
+     * course, split off from another spliterator
+     * @param parent the spliterator to split from
+     * @param depth the depth whose untried sections are taken over
+     * @param sections the bitset of sections taken over
+     */
+    private ComboSpliterator(ComboSpliterator parent, int depth,
+                             long[] sections) {
+        this.courses = parent.courses;
+        this.table = parent.table;
+        this.scores = parent.scores;
+        this.courseOrder = parent.courseOrder;
+        int[] start = parent.orders[depth] == null ? parent.order
+                : parent.orders[depth];
+        this.order = Arrays.copyOf(start, start.length);
+        this.orders = new int[courses.size()][];
+        saveOrder(depth);
+        this.domains = table.newDomains();
+        for (int p = depth; p < order.length; p++) {
+            int j = order[p];
+            System.arraycopy(parent.domains[depth][j], 0, domains[depth][j],
+                    0, domains[depth][j].length);
+        }
+        this.pending = new long[courses.size()][];
+        this.pending[depth] = sections;
+        this.currCombo = Arrays.copyOf(parent.currCombo,
+                parent.currCombo.length);
+        this.points = Arrays.copyOf(parent.points, parent.points.length);
+        this.base = depth;
+        this.depth = depth;
+        this.estimate = estimateLeaves();
+    }
+
+    /**
+     * Advance the back-tracing to the next combination without conflict
+     * @param action the consumer of the next combo
+     * @return false if there are no more combos
+     */
+    @Override
+    public boolean tryAdvance(Consumer<? super CourseCombo> action) {
+        int n = courses.size();
+        while (depth >= base && n > 0) {
+            if (depth == n) {
+                depth--;
+                double average = courseOrder == CourseOrder.GIVEN
+                        ? scores.getAverage(points[n])
+                        : scores.getAverage(currCombo);
+                action.accept(new CourseCombo(
+                        Arrays.copyOf(currCombo, currCombo.length), average));
+                return true;
+            }
+            int unique = pollFirst(pending[depth]);
+            if (unique < 0) {
+                depth--;
+                continue;
+            }
+            int course = order[depth];
+            if (courseOrder == CourseOrder.DYNAMIC) {
+                System.arraycopy(orders[depth], depth + 1, order, depth + 1,
+                        order.length - depth - 1);
+            }
+            if (table.narrow(course, unique, domains[depth],
+                    domains[depth + 1], order, depth + 1)) {
+                currCombo[course] = table.getSectionIndex(course, unique);
+                points[depth + 1] = points[depth]
+                        + scores.getPoints(course, unique);
+                depth++;
+                if (depth < n) {
+                    courseOrder.chooseNext(domains[depth], order, depth);
+                    saveOrder(depth);
+                    long[] next = domains[depth][order[depth]];
+                    if (pending[depth] == null
+                            || pending[depth].length != next.length) {
+                        pending[depth] = new long[next.length];
+                    }
+                    System.arraycopy(next, 0, pending[depth], 0,
+                            next.length);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Hand over the upper half of the untried sections of the shallowest
+     * course that still has any
+     * @return a spliterator over the handed over subtrees, or null if there
+     * is nothing left to split
+     */
+    @Override
+    public Spliterator<CourseCombo> trySplit() {
+        int last = Math.min(depth, courses.size() - 1);
+        for (int k = base; k <= last; k++) {
+            long[] sections = pending[k];
+            int count = 0;
+            for (long word : sections) {
+                count += Long.bitCount(word);
+            }
+            if (count == 0 || (k == depth && count == 1)) {
+                continue;
+            }
+            long[] taken = new long[sections.length];
+            int skip = k == depth ? count / 2 : 0;
+            for (int w = 0; w < sections.length; w++) {
+                long bits = sections[w];
+                while (bits != 0) {
+                    long lowest = bits & -bits;
+                    bits &= bits - 1;
+                    if (skip > 0) {
+                        skip--;
+                    } else {
+                        taken[w] |= lowest;
+                        sections[w] &= ~lowest;
+                    }
+                }
+            }
+            ComboSpliterator split = new ComboSpliterator(this, k, taken);
+            estimate = Math.max(estimate - split.estimate, 1);
+            return split;
+        }
+        return null;
+    }
+
+    /**
+     * Estimate the number of combos left
+     * @return an upper bound of the number of combos left
+     */
+    @Override
+    public long estimateSize() {
+        return estimate;
+    }
+
+    /**
+     * The combos are distinct, never null, and are not changed by the source
+     * @return the characteristics of this spliterator
+     */
+    @Override
+    public int characteristics() {
+        return DISTINCT | NONNULL | IMMUTABLE;
+    }
+
+    /**
+     * Remember the order as it is when the sections of a depth start to be
+     * tried; a dynamic order is put back to it before every section, so a
+     * subtree is visited the same way whether it is split off or not
+     * @param position the depth
+     */
+    private void saveOrder(int position) {
+        if (courseOrder != CourseOrder.DYNAMIC) {
+            return;
+        }
+        if (orders[position] == null) {
+            orders[position] = new int[order.length];
+        }
+        System.arraycopy(order, 0, orders[position], 0, order.length);
+    }
+
+    /**
+     * Take the lowest set bit out of a bitset
+     * @param bits the bitset
+     * @return the index of the bit taken, or -1 if none is set
+     */
+    private static int pollFirst(long[] bits) {
+        for (int w = 0; w < bits.length; w++) {
+            if (bits[w] != 0) {
+                int index = Long.numberOfTrailingZeros(bits[w]);
+                bits[w] &= bits[w] - 1;
+                return (w << 6) + index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Estimate the size of the remaining tree as the product of the untried
+     * sections of the base course and the domains of the later courses
+     * @return an upper bound of the number of leaves, capped at
+     * Long.MAX_VALUE
+     */
+    private long estimateLeaves() {
+        long leaves = 1;
+        for (int p = base; p < order.length; p++) {
+            long[] bits = p == base ? pending[p] : domains[base][order[p]];
+            int count = 0;
+            for (long word : bits) {
+                count += Long.bitCount(word);
+            }
+            if (count != 0 && leaves > Long.MAX_VALUE / count) {
+                return Long.MAX_VALUE;
+            }
+            leaves *= count;
+        }
+        return leaves;
+    }
+}
@@ -0,0 +1,263 @@
+import java.util.List;
+
+public class ComboState {
+    public static final int DAYS = WeekDay.values().length;
+    public static final int NO_CLASS = 24 * 60;
+
+    private ScoreTable scores;
+    private int[][][] profiles;
+    private int[] maxBusy;
+    private int[][] seats;
+    private int depth;
+    private int[] chosen;
+    private int[][] begin;
+    private int[][] end;
+    private int[][] busy;
+    private double[] points;
+    private double[] restPoints;
+    private int[] restBusy;
+    private int[] minSeats;
+
+    /**
+     * Summarize every unique section by day once, so that adding a section
+     * to a combo only updates a few integers per day
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     */
+    public ComboState(List<Course> courses, ConflictTable table,
+                      ScoreTable scores) {
+        int n = courses.size();
+        this.scores = scores;
+        profiles = new int[n][][];
+        maxBusy = new int[n];
+        seats = new int[n][];
+        int totalBusy = 0;
+        double totalPoints = 0;
+        for (int i = 0; i < n; i++) {
+            Course course = courses.get(i);
+            profiles[i] = new int[table.getUniqueCount(i)][];
+            seats[i] = new int[profiles[i].length];
+            for (int u = 0; u < profiles[i].length; u++) {
+                int first = course.getUniqueSectionStart(u);
+                int last = course.getUniqueSectionEnd(u);
+                SectionCatalog catalog = course.getCatalog();
+                // any of the equivalent sections can be registered for
+                for (int s = first; s < last; s++) {
+                    seats[i][u] += catalog.getOpenSeats(
+                            course.getSectionRow(s));
+                }
+                profiles[i][u] = profile(catalog,
+                        course.getSectionRow(first));
+                int sum = 0;
+                for (int d = 0; d < DAYS; d++) {
+                    sum += profiles[i][u][3 * d + 2];
+                }
+                maxBusy[i] = Math.max(maxBusy[i], sum);
+            }
+            totalBusy += maxBusy[i];
+            totalPoints += scores.getMaxPoints(i);
+        }
+        begin = new int[n + 1][DAYS];
+        end = new int[n + 1][DAYS];
+        busy = new int[n + 1][DAYS];
+        points = new double[n + 1];
+        restPoints = new double[n + 1];
+        restBusy = new int[n + 1];
+        minSeats = new int[n + 1];
+        for (int d = 0; d < DAYS; d++) {
+            begin[0][d] = NO_CLASS;
+        }
+        restPoints[0] = totalPoints;
+        restBusy[0] = totalBusy;
+        minSeats[0] = Integer.MAX_VALUE;
+        chosen = new int[n];
+        depth = 0;
+    }
+
+    /**
+     * Add a section to the combo
+     * @param course the index of the course
+     * @param unique the position in Course.getUniqueSectionIndices()
+     */
+    public void push(int course, int unique) {
+        int[] profile = profiles[course][unique];
+        int next = depth + 1;
+        for (int d = 0; d < DAYS; d++) {
+            begin[next][d] = Math.min(begin[depth][d], profile[3 * d]);
+            end[next][d] = Math.max(end[depth][d], profile[3 * d + 1]);
+            busy[next][d] = busy[depth][d] + profile[3 * d + 2];
+        }
+        points[next] = points[depth] + scores.getPoints(course, unique);
+        restPoints[next] = restPoints[depth] - scores.getMaxPoints(course);
+        restBusy[next] = restBusy[depth] - maxBusy[course];
+        minSeats[next] = Math.min(minSeats[depth], seats[course][unique]);
+        chosen[course] = unique;
+        depth = next;
+    }
+
+    /**
+     * Remove the section added last
+     */
+    public void pop() {
+        depth--;
+    }
+
+    /**
+     * getter for depth
+     * @return the number of sections in the combo
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * Give when the first class of a day begins
+     * @param day the week day
+     * @return the minute of the day, NO_CLASS if there is no class that day
+     */
+    public int getBegin(WeekDay day) {
+        return begin[depth][day.ordinal()];
+    }
+
+    /**
+     * Give when the last class of a day ends
+     * @param day the week day
+     * @return the minute of the day, 0 if there is no class that day
+     */
+    public int getEnd(WeekDay day) {
+        return end[depth][day.ordinal()];
+    }
+
+    /**
+     * Give the minutes spent in class on a day
+     * @param day the week day
+     * @return the sum of the lengths of all classes that day
+     */
+    public int getBusyMinutes(WeekDay day) {
+        return busy[depth][day.ordinal()];
+    }
+
+    /**
+     * Give the minutes between classes over the week; sections of a combo
+     * never overlap, so this is the span of every day minus its classes
+     * @return the idle minutes of all days
+     */
+    public int getIdleMinutes() {
+        int idle = 0;
+        for (int d = 0; d < DAYS; d++) {
+            if (begin[depth][d] != NO_CLASS) {
+                idle += end[depth][d] - begin[depth][d] - busy[depth][d];
+            }
+        }
+        return idle;
+    }
+
+    /**
+     * Give when the first class of the week begins, whatever the day
+     * @return the earliest minute of the day, NO_CLASS if there are no
+     * classes
+     */
+    public int getEarliestBegin() {
+        int earliest = NO_CLASS;
+        for (int d = 0; d < DAYS; d++) {
+            earliest = Math.min(earliest, begin[depth][d]);
+        }
+        return earliest;
+    }
+
+    /**
+     * Give the number of days with a class
+     * @return the campus days
+     */
+    public int getCampusDays() {
+        int days = 0;
+        for (int d = 0; d < DAYS; d++) {
+            if (begin[depth][d] != NO_CLASS) {
+                days++;
+            }
+        }
+        return days;
+    }
+
+    /**
+     * getter for points
+     * @return the credit weighted GPA of the sections in the combo
+     */
+    public double getPoints() {
+        return points[depth];
+    }
+
+    /**
+     * getter for restPoints
+     * @return the sum of the best points of the courses not in the combo
+     */
+    public double getRestPoints() {
+        return restPoints[depth];
+    }
+
+    /**
+     * getter for restBusy
+     * @return the most class minutes the courses not in the combo can add
+     */
+    public int getRestBusyMinutes() {
+        return restBusy[depth];
+    }
+
+    /**
+     * Give the open seats of the fullest course, counting the seats of all
+     * sections equivalent to the chosen one
+     * @return the least open seats of any section in the combo,
+     * Integer.MAX_VALUE if the combo is empty
+     */
+    public int getMinOpenSeats() {
+        return minSeats[depth];
+    }
+
+    /**
+     * Give the average GPA of a complete combo, adding up the points in the
+     * order of the courses so that it does not depend on the order the
+     * sections were chosen in
+     * @return the average GPA, only valid once every course has a section
+     */
+    public double getAverageGPA() {
+        double sum = 0;
+        for (int i = 0; i < chosen.length; i++) {
+            sum += scores.getPoints(i, chosen[i]);
+        }
+        return scores.getAverage(sum);
+    }
+
+    /**
+     * Turn credit weighted GPA into an average over all courses
+     * @param points the sum of the points of sections
+     * @return the average GPA, 0 if there are no credits
+     */
+    public double getAverage(double points) {
+        return scores.getAverage(points);
+    }
+
+    /**
+     * Summarize the time slots of a section by day
+     * @param catalog the catalog of the section
+     * @param row the row of the section
+     * @return the earliest begin, the latest end and the class minutes of
+     * every day, in groups of three
+     */
+    private static int[] profile(SectionCatalog catalog, int row) {
+        int[] profile = new int[3 * DAYS];
+        for (int d = 0; d < DAYS; d++) {
+            profile[3 * d] = NO_CLASS;
+        }
+        for (int k = catalog.getFirstSlot(row); k < catalog.getEndSlot(row);
+             k++) {
+            int d = catalog.getSlotDay(k);
+            int begin = catalog.getSlotBegin(k);
+            int end = catalog.getSlotEnd(k);
+            profile[3 * d] = Math.min(profile[3 * d], begin);
+            profile[3 * d + 1] = Math.max(profile[3 * d + 1], end);
+            profile[3 * d + 2] += end - begin;
+        }
+        return profile;
+    }
+}
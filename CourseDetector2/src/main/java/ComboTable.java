@@ -0,0 +1,311 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class ComboTable {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int INSERTION_SORT_SIZE = 16;
+
+    private int width;
+    private int size;
+    private byte[] byteIndices;
+    private short[] shortIndices;
+    private int[] intIndices;
+    private double[] averages;
+
+    /**
+     * Constructor for an empty table; section indices are packed into
+     * bytes, shorts or ints, whatever is the smallest type that holds them
+     * @param width the number of courses of every combo
+     * @param maxIndex the largest section index that will be stored
+     * @throws IllegalArgumentException if width or maxIndex is negative
+     */
+    public ComboTable(int width, int maxIndex) {
+        if (width < 0 || maxIndex < 0) {
+            throw new IllegalArgumentException("The width and the largest"
+            + " index of a combo table cannot be negative.");
+        }
+        this.width = width;
+        this.size = 0;
+        int cells = INITIAL_CAPACITY * width;
+        if (maxIndex <= Byte.MAX_VALUE) {
+            byteIndices = new byte[cells];
+        } else if (maxIndex <= Short.MAX_VALUE) {
+            shortIndices = new short[cells];
+        } else {
+            intIndices = new int[cells];
+        }
+        averages = new double[INITIAL_CAPACITY];
+    }
+
+    /**
+     * getter for size
+     * @return the number of combos in the table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * getter for width
+     * @return the number of courses of every combo
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Append a combo
+     * @param combo the section index chosen for every course
+     * @param averageGPA the average GPA of the combo
+     */
+    public void add(int[] combo, double averageGPA) {
+        ensureCapacity(size + 1);
+        int offset = size * width;
+        if (byteIndices != null) {
+            for (int i = 0; i < width; i++) {
+                byteIndices[offset + i] = (byte) combo[i];
+            }
+        } else if (shortIndices != null) {
+            for (int i = 0; i < width; i++) {
+                shortIndices[offset + i] = (short) combo[i];
+            }
+        } else {
+            System.arraycopy(combo, 0, intIndices, offset, width);
+        }
+        averages[size] = averageGPA;
+        size++;
+    }
+
+    /**
+     * Append all combos of another table of the same width
+     * @param that the other table
+     * @throws IllegalArgumentException if the widths differ
+     */
+    public void addAll(ComboTable that) {
+        if (that.width != this.width) {
+            throw new IllegalArgumentException("Cannot merge combo tables of"
+            + " different widths.");
+        }
+        ensureCapacity(size + that.size);
+        if (this.byteIndices != null && that.byteIndices != null) {
+            System.arraycopy(that.byteIndices, 0, byteIndices, size * width,
+                    that.size * width);
+        } else if (this.shortIndices != null && that.shortIndices != null) {
+            System.arraycopy(that.shortIndices, 0, shortIndices, size * width,
+                    that.size * width);
+        } else if (this.intIndices != null && that.intIndices != null) {
+            System.arraycopy(that.intIndices, 0, intIndices, size * width,
+                    that.size * width);
+        } else {
+            for (int row = 0; row < that.size; row++) {
+                for (int i = 0; i < width; i++) {
+                    set(size + row, i, that.getIndex(row, i));
+                }
+            }
+        }
+        System.arraycopy(that.averages, 0, averages, size, that.size);
+        size += that.size;
+    }
+
+    /**
+     * Give the section index a combo chose for a course
+     * @param row the row of the combo
+     * @param course the index of the course
+     * @return the index in the sections list of the course
+     */
+    public int getIndex(int row, int course) {
+        int cell = row * width + course;
+        if (byteIndices != null) {
+            return byteIndices[cell];
+        } else if (shortIndices != null) {
+            return shortIndices[cell];
+        }
+        return intIndices[cell];
+    }
+
+    /**
+     * Give the section indices of a combo
+     * @param row the row of the combo
+     * @return a new array with the section index of every course
+     */
+    public int[] getCourseIndices(int row) {
+        int[] indices = new int[width];
+        for (int i = 0; i < width; i++) {
+            indices[i] = getIndex(row, i);
+        }
+        return indices;
+    }
+
+    /**
+     * Give the average GPA of a combo
+     * @param row the row of the combo
+     * @return the average GPA
+     */
+    public double getAverageGPA(int row) {
+        return averages[row];
+    }
+
+    /**
+     * Give a lightweight CourseCombo reading its indices and average GPA
+     * from a row; the view follows the row, not the combo, if the table is
+     * sorted afterwards
+     * @param row the row of the combo
+     * @return a view of the row
+     */
+    public CourseCombo getCombo(int row) {
+        if (row < 0 || row >= size) {
+            throw new IllegalArgumentException("Given row exceeds the bounds"
+            + " of the combo table.");
+        }
+        return new CourseCombo(this, row);
+    }
+
+    /**
+     * Give views of all rows
+     * @return a list with a CourseCombo view of every row, in row order;
+     * sorting the table afterwards sorts the list along with it
+     */
+    public List<CourseCombo> asList() {
+        List<CourseCombo> combos = new ArrayList<>(size);
+        for (int row = 0; row < size; row++) {
+            combos.add(new CourseCombo(this, row));
+        }
+        return combos;
+    }
+
+    /**
+     * Sort the rows in place, best average GPA first; ties are ordered by
+     * their section indices. Under CourseOrder.GIVEN that is the order
+     * back-tracing finds them in, so the result is the same as
+     * Collections.sort() on Schedule.getAllSectionCombos(); the other
+     * course orders find ties in another order, which Collections.sort()
+     * keeps but this sort does not
+     */
+    public void sort() {
+        quickSort(0, size - 1);
+    }
+
+    /**
+     * Sort a range of rows, recursing into the smaller part only
+     * @param low the first row of the range
+     * @param high the last row of the range
+     */
+    private void quickSort(int low, int high) {
+        while (high - low >= INSERTION_SORT_SIZE) {
+            int mid = (low + high) >>> 1;
+            if (compareRows(mid, low) < 0) {
+                swapRows(mid, low);
+            }
+            if (compareRows(high, low) < 0) {
+                swapRows(high, low);
+            }
+            if (compareRows(high, mid) < 0) {
+                swapRows(high, mid);
+            }
+            swapRows(mid, high - 1);
+            int pivot = high - 1;
+            int i = low;
+            int j = high - 1;
+            while (true) {
+                while (compareRows(++i, pivot) < 0) {
+                    // the median of three stops this scan at high - 1
+                }
+                while (compareRows(--j, pivot) > 0) {
+                    // and this one at low
+                }
+                if (i >= j) {
+                    break;
+                }
+                swapRows(i, j);
+            }
+            swapRows(i, high - 1);
+            if (i - low < high - i) {
+                quickSort(low, i - 1);
+                low = i + 1;
+            } else {
+                quickSort(i + 1, high);
+                high = i - 1;
+            }
+        }
+        for (int i = low + 1; i <= high; i++) {
+            for (int j = i; j > low && compareRows(j, j - 1) < 0; j--) {
+                swapRows(j, j - 1);
+            }
+        }
+    }
+
+    /**
+     * Compare two rows by average GPA descending, then by section indices
+     * @param a one row
+     * @param b the other row
+     * @return negative if row a comes first
+     */
+    private int compareRows(int a, int b) {
+        if (averages[a] != averages[b]) {
+            return averages[a] > averages[b] ? -1 : 1;
+        }
+        for (int i = 0; i < width; i++) {
+            int diff = getIndex(a, i) - getIndex(b, i);
+            if (diff != 0) {
+                return diff;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Exchange two rows
+     * @param a one row
+     * @param b the other row
+     */
+    private void swapRows(int a, int b) {
+        if (a == b) {
+            return;
+        }
+        for (int i = 0; i < width; i++) {
+            int index = getIndex(a, i);
+            set(a, i, getIndex(b, i));
+            set(b, i, index);
+        }
+        double average = averages[a];
+        averages[a] = averages[b];
+        averages[b] = average;
+    }
+
+    /**
+     * Store a section index
+     * @param row the row of the combo
+     * @param course the index of the course
+     * @param index the section index
+     */
+    private void set(int row, int course, int index) {
+        int cell = row * width + course;
+        if (byteIndices != null) {
+            byteIndices[cell] = (byte) index;
+        } else if (shortIndices != null) {
+            shortIndices[cell] = (short) index;
+        } else {
+            intIndices[cell] = index;
+        }
+    }
+
+    /**
+     * Grow the arrays to hold at least the given number of rows
+     * @param rows the number of rows needed
+     */
+    private void ensureCapacity(int rows) {
+        if (rows <= averages.length) {
+            return;
+        }
+        int capacity = Math.max(rows, averages.length * 2);
+        averages = Arrays.copyOf(averages, capacity);
+        if (byteIndices != null) {
+            byteIndices = Arrays.copyOf(byteIndices, capacity * width);
+        } else if (shortIndices != null) {
+            shortIndices = Arrays.copyOf(shortIndices, capacity * width);
+        } else {
+            intIndices = Arrays.copyOf(intIndices, capacity * width);
+        }
+    }
+}
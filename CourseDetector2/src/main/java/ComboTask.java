@@ -0,0 +1,227 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+
+public class ComboTask extends RecursiveTask<ComboTable> {
+    private static final long serialVersionUID = 1L;
+    private static final long SPLIT_THRESHOLD = 1 << 14;
+
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private CourseOrder courseOrder;
+    private boolean parallel;
+    private int depth;
+    private int[] order;
+    private int[] prefix;
+    private double points;
+    private long[][] domain;
+    private int[][] orders;
+    private long nodes;
+
+    /**
+     * Constructor for a task enumerating the whole search tree
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @param courseOrder the order to visit the courses in
+     * @param parallel whether to fork subtasks; if false, compute() runs the
+     *                 plain back-tracing in the calling thread
+     */
+    public ComboTask(List<Course> courses, ConflictTable table,
+                     ScoreTable scores, CourseOrder courseOrder,
+                     boolean parallel) {
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.courseOrder = courseOrder;
+        this.parallel = parallel;
+        this.depth = 0;
+        this.order = courseOrder.initialOrder(table);
+        this.prefix = new int[courses.size()];
+        this.points = 0;
+        this.domain = table.newDomains()[0];
+    }
+
+    /**
+     * Constructor for a subtask enumerating one subtree
+     * @param parent the task the subtree is split from
+     * @param depth the number of courses chosen already
+     * @param prefix the section indices chosen for the courses so far
+     * @param points the credit weighted GPA of the chosen sections
+     * @param domain the remaining compatible sections at depth
+     */
+    private ComboTask(ComboTask parent, int depth, int[] prefix,
+                      double points, long[][] domain) {
+        this.courses = parent.courses;
+        this.table = parent.table;
+        this.scores = parent.scores;
+        this.courseOrder = parent.courseOrder;
+        this.parallel = parent.parallel;
+        this.depth = depth;
+        this.order = Arrays.copyOf(parent.order, parent.order.length);
+        this.prefix = prefix;
+        this.points = points;
+        this.domain = domain;
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried by this task and its subtasks,
+     * valid after compute()
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Enumerate the subtree of this task; the first level is always split
+     * into one subtask per section, deeper levels only while the subtree
+     * is estimated to be large enough to be worth forking
+     * @return all combos of the subtree; in back-tracing order for the given
+     * course order
+     */
+    @Override
+    protected ComboTable compute() {
+        nodes = 0;
+        if (parallel && depth < courses.size() - 1
+                && (depth == 0 || estimateLeaves() > SPLIT_THRESHOLD)) {
+            return split();
+        }
+        ComboTable combos = newComboTable();
+        long[][][] domains = table.newDomains();
+        domains[depth] = domain;
+        orders = new int[courses.size()][order.length];
+        comboHelper(depth, prefix, points, domains, combos);
+        return combos;
+    }
+
+    /**
+     * Fork one subtask per remaining section of the current course and
+     * concatenate their results in order
+     * @return all combos of the subtree
+     */
+    private ComboTable split() {
+        List<ComboTask> tasks = new ArrayList<>();
+        courseOrder.chooseNext(domain, order, depth);
+        int course = order[depth];
+        long[] current = domain[course];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                long[][] next = new long[courses.size()][];
+                for (int p = depth + 1; p < order.length; p++) {
+                    next[order[p]] = new long[domain[order[p]].length];
+                }
+                if (table.narrow(course, unique, domain, next, order,
+                        depth + 1)) {
+                    int[] nextPrefix = Arrays.copyOf(prefix, prefix.length);
+                    nextPrefix[course] = table.getSectionIndex(course, unique);
+                    tasks.add(new ComboTask(this, depth + 1, nextPrefix,
+                            points + scores.getPoints(course, unique), next));
+                }
+            }
+        }
+        invokeAll(tasks);
+        ComboTable combos = newComboTable();
+        for (ComboTask task : tasks) {
+            combos.addAll(task.join());
+            nodes += task.nodes;
+        }
+        return combos;
+    }
+
+    /**
+     * Create an empty combo table able to hold every section index chosen
+     * @return the combo table
+     */
+    private ComboTable newComboTable() {
+        int maxIndex = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            int count = table.getUniqueCount(i);
+            if (count > 0) {
+                maxIndex = Math.max(maxIndex,
+                        table.getSectionIndex(i, count - 1));
+            }
+        }
+        return new ComboTable(courses.size(), maxIndex);
+    }
+
+    /**
+     * Estimate the size of the subtree as the product of the remaining
+     * domain sizes
+     * @return an upper bound of the number of leaves, capped at
+     * Long.MAX_VALUE
+     */
+    private long estimateLeaves() {
+        long leaves = 1;
+        for (int p = depth; p < order.length; p++) {
+            int count = 0;
+            for (long word : domain[order[p]]) {
+                count += Long.bitCount(word);
+            }
+            if (count != 0 && leaves > Long.MAX_VALUE / count) {
+                return Long.MAX_VALUE;
+            }
+            leaves *= count;
+        }
+        return leaves;
+    }
+
+    /**
+     * Uses back-tracing to find all combinations that do not lead to time
+     * conflict; compatibility is looked up in the conflict table and the
+     * remaining sections of every later course are narrowed as we go. A
+     * dynamic order is put back after every subtree, so each sibling
+     * starts from the order split() would hand to its subtask.
+     * @param currDepth the number of courses chosen so far
+     * @param currCombo the combo workspace, indexed by course
+     * @param currPoints the credit weighted GPA of the chosen sections
+     * @param domains the remaining compatible sections at every depth
+     * @param combos a table of all possible combos
+     */
+    private void comboHelper(int currDepth, int[] currCombo,
+                             double currPoints, long[][][] domains,
+                             ComboTable combos) {
+        if (currDepth == courses.size()) {
+            // a reordered search adds the points up in another order, so
+            // recompute them to keep averages independent of the order
+            double average = courseOrder == CourseOrder.GIVEN
+                    ? scores.getAverage(currPoints)
+                    : scores.getAverage(currCombo);
+            combos.add(currCombo, average);
+            return;
+        }
+        courseOrder.chooseNext(domains[currDepth], order, currDepth);
+        boolean dynamic = courseOrder == CourseOrder.DYNAMIC;
+        if (dynamic) {
+            System.arraycopy(order, 0, orders[currDepth], 0, order.length);
+        }
+        int course = order[currDepth];
+        long[] current = domains[currDepth][course];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                if (table.narrow(course, unique, domains[currDepth],
+                        domains[currDepth + 1], order, currDepth + 1)) {
+                    currCombo[course] = table.getSectionIndex(course, unique);
+                    comboHelper(currDepth + 1, currCombo,
+                            currPoints + scores.getPoints(course, unique),
+                            domains, combos);
+                    if (dynamic) {
+                        System.arraycopy(orders[currDepth], currDepth + 1,
+                                order, currDepth + 1,
+                                order.length - currDepth - 1);
+                    }
+                }
+            }
+        }
+    }
+}
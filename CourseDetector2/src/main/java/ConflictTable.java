@@ -0,0 +1,282 @@
+import java.util.List;
+
+public class ConflictTable {
+    private List<Course> courses;
+    private int[] versions;
+    private int[][] uniqueIndices;
+    private long[][][][] compatible;
+
+    /**
+     * Build the table for the given courses; it should be built after the
+     * courses have been filtered
+     * @param courses the courses in the schedule
+     * @throws IllegalArgumentException if given courses are null
+     */
+    public ConflictTable(List<Course> courses) {
+        if (courses == null) {
+            throw new IllegalArgumentException("Given courses are null.");
+        }
+        this.courses = courses;
+        int n = courses.size();
+        versions = new int[n];
+        uniqueIndices = new int[n][];
+        compatible = new long[n][n][][];
+        boolean[] changed = new boolean[n];
+        for (int i = 0; i < n; i++) {
+            changed[i] = true;
+        }
+        rebuild(changed);
+    }
+
+    /**
+     * Bring the table up to date with the sections of all courses; only the
+     * rows and columns of courses filtered since the last build are rebuilt
+     * @return true if anything was rebuilt
+     */
+    public boolean update() {
+        boolean[] changed = new boolean[courses.size()];
+        boolean any = false;
+        for (int i = 0; i < courses.size(); i++) {
+            if (courses.get(i).getVersion() != versions[i]) {
+                changed[i] = true;
+                any = true;
+            }
+        }
+        if (any) {
+            rebuild(changed);
+        }
+        return any;
+    }
+
+    /**
+     * getter for number of courses
+     * @return number of courses
+     */
+    public int getNumberOfCourses() {
+        return courses.size();
+    }
+
+    /**
+     * Give the number of unique sections of a course
+     * @param course the index of the course
+     * @return the number of unique sections
+     */
+    public int getUniqueCount(int course) {
+        return uniqueIndices[course].length;
+    }
+
+    /**
+     * Give the number of longs in a bitset over the unique sections of a
+     * course
+     * @param course the index of the course
+     * @return the length of the bitsets for that course
+     */
+    public int getWordCount(int course) {
+        return words(uniqueIndices[course].length);
+    }
+
+    /**
+     * Translate a unique section position back to an index of the sections
+     * list of the course
+     * @param course the index of the course
+     * @param unique the position in Course.getUniqueSectionIndices()
+     * @return the index in the sections list of the course
+     */
+    public int getSectionIndex(int course, int unique) {
+        return uniqueIndices[course][unique];
+    }
+
+    /**
+     * Find the unique section a section of a course belongs to
+     * @param course the index of the course
+     * @param sectionIndex the index in the sections list of the course
+     * @return the position in Course.getUniqueSectionIndices() of the first
+     * section equivalent to the given one
+     * @throws IllegalArgumentException if the index is out of bounds
+     */
+    public int getUniquePosition(int course, int sectionIndex) {
+        int[] indices = uniqueIndices[course];
+        if (indices.length == 0 || sectionIndex < 0) {
+            throw new IllegalArgumentException("Given index exceeds the bounds"
+            + " for sections list.");
+        }
+        int low = 0;
+        int high = indices.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (indices[mid] <= sectionIndex) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Give the unique sections of one course compatible with a unique section
+     * of another course
+     * @param course the index of the course with the chosen section
+     * @param unique the position of the chosen section in
+     *               Course.getUniqueSectionIndices()
+     * @param other the index of the other course
+     * @return a bitset over the unique sections of the other course, a set bit
+     * meaning no time conflict with the chosen section; must not be modified
+     */
+    public long[] getCompatible(int course, int unique, int other) {
+        return compatible[course][other][unique];
+    }
+
+    /**
+     * Look up if two unique sections of two different courses can be taken
+     * together
+     * @param course the index of one course
+     * @param unique the unique section position of that course
+     * @param other the index of the other course
+     * @param otherUnique the unique section position of the other course
+     * @return true if they do not conflict
+     */
+    public boolean isCompatible(int course, int unique, int other,
+                                int otherUnique) {
+        return (compatible[course][other][unique][otherUnique >>> 6]
+                & (1L << otherUnique)) != 0;
+    }
+
+    /**
+     * Give a bitset with all unique sections of a course set
+     * @param course the index of the course
+     * @return a newly allocated bitset
+     */
+    public long[] allSections(int course) {
+        int count = uniqueIndices[course].length;
+        long[] bits = new long[words(count)];
+        for (int i = 0; i < count; i++) {
+            bits[i >>> 6] |= 1L << i;
+        }
+        return bits;
+    }
+
+    /**
+     * Allocate the workspace of remaining compatible sections for every
+     * depth of a search, with the first depth allowing all sections
+     * @return domains[depth][course], a bitset over the unique sections of
+     * the course still compatible with the sections chosen before depth
+     */
+    public long[][][] newDomains() {
+        int n = courses.size();
+        long[][][] domains = new long[n + 1][n][];
+        for (int depth = 0; depth <= n; depth++) {
+            for (int i = 0; i < n; i++) {
+                domains[depth][i] = new long[getWordCount(i)];
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            domains[0][i] = allSections(i);
+        }
+        return domains;
+    }
+
+    /**
+     * Narrow the domains of all courses not chosen yet by a chosen unique
+     * section
+     * @param course the index of the course the section is chosen for
+     * @param unique the chosen unique section position
+     * @param from the domains before the choice
+     * @param to the domains after the choice, filled for the courses not
+     *           chosen yet
+     * @param order the visiting order of the courses
+     * @param next the position in order of the first course not chosen yet
+     * @return false if some course not chosen yet has no compatible section
+     * left
+     */
+    public boolean narrow(int course, int unique, long[][] from, long[][] to,
+                          int[] order, int next) {
+        long[][][] rows = compatible[course];
+        for (int p = next; p < order.length; p++) {
+            int j = order[p];
+            long[] row = rows[j][unique];
+            long[] source = from[j];
+            long[] target = to[j];
+            long any = 0;
+            for (int w = 0; w < target.length; w++) {
+                target[w] = source[w] & row[w];
+                any |= target[w];
+            }
+            if (any == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Rebuild the unique section indices of changed courses and all
+     * compatibility rows touching them
+     * @param changed flags for the courses to rebuild
+     */
+    private void rebuild(boolean[] changed) {
+        int n = courses.size();
+        for (int i = 0; i < n; i++) {
+            if (changed[i]) {
+                Course course = courses.get(i);
+                uniqueIndices[i]
+                        = new int[course.getNumberOfUniqueSections()];
+                for (int k = 0; k < uniqueIndices[i].length; k++) {
+                    uniqueIndices[i][k] = course.getUniqueSectionStart(k);
+                }
+                versions[i] = courses.get(i).getVersion();
+            }
+        }
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                if (changed[i] || changed[j]) {
+                    buildPair(i, j);
+                }
+            }
+        }
+    }
+
+    /**
+     * Compute the compatibility bitsets between two courses in both
+     * directions
+     * @param i the index of one course
+     * @param j the index of the other course
+     */
+    private void buildPair(int i, int j) {
+        Course first = courses.get(i);
+        Course second = courses.get(j);
+        int[] firstIndices = uniqueIndices[i];
+        int[] secondIndices = uniqueIndices[j];
+        long[][] forward = new long[firstIndices.length]
+                [words(secondIndices.length)];
+        long[][] backward = new long[secondIndices.length]
+                [words(firstIndices.length)];
+        SectionCatalog firstCatalog = first.getCatalog();
+        SectionCatalog secondCatalog = second.getCatalog();
+        int[] secondRows = new int[secondIndices.length];
+        for (int b = 0; b < secondIndices.length; b++) {
+            secondRows[b] = second.getSectionRow(secondIndices[b]);
+        }
+        for (int a = 0; a < firstIndices.length; a++) {
+            int row = first.getSectionRow(firstIndices[a]);
+            for (int b = 0; b < secondIndices.length; b++) {
+                if (!firstCatalog.conflicts(row, secondCatalog,
+                        secondRows[b])) {
+                    forward[a][b >>> 6] |= 1L << b;
+                    backward[b][a >>> 6] |= 1L << a;
+                }
+            }
+        }
+        compatible[i][j] = forward;
+        compatible[j][i] = backward;
+    }
+
+    /**
+     * Give the number of longs needed for a bitset
+     * @param bits the number of bits
+     * @return the number of longs
+     */
+    private static int words(int bits) {
+        return (bits + 63) >>> 6;
+    }
+}
@@ -1,4 +1,5 @@
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -11,6 +12,11 @@ public class Course {
     private List<Section> sections;
     private int credit;
     private InstructorPool instructors;
+    private int version;
+    private EquivalenceTable classes;
+    private SectionCatalog catalog;
+    private StringDictionary dictionary;
+    private Double[] gpas;
 
     /**
      * full constructor for Course class
@@ -24,18 +30,54 @@ public class Course {
             throw new IllegalArgumentException("Cannot construct a course"
             + " using null title, null importance, or non-positive importance");
         }
-        this.title = title;
         HtmlParser parser = new HtmlParser();
-        this.allSections = parser.parseCourse(fileName);
-        if (allSections == null || allSections.size() == 0) {
+        List<Section> parsed = parser.parseCourse(fileName);
+        if (parsed == null || parsed.size() == 0) {
             throw new IllegalArgumentException("Fail to construct all sections"
             + " of a course for unknown reasons." + " File: " + fileName);
         }
+        initialize(title, parsed, new InstructorPool(title));
+    }
+
+    /**
+     * Constructor for a course whose sections and instructors are already
+     * known, without reading html or fetching GPA information
+     * @param title the title for the course
+     * @param sections all sections of the course
+     * @param instructors the GPA information of the instructors
+     * @throws IllegalArgumentException if given parameters are null or there
+     * are no sections
+     */
+    public Course(String title, List<Section> sections,
+                  InstructorPool instructors) {
+        if (title == null || sections == null || instructors == null
+                || sections.size() == 0) {
+            throw new IllegalArgumentException("Cannot construct a course"
+            + " using null title, null instructors, or no sections");
+        }
+        initialize(title, new ArrayList<>(sections), instructors);
+    }
+
+    /**
+     * Set up a course from its sections, sorted by GPA, best first
+     * @param title the title for the course
+     * @param allSections all sections of the course, sorted in place
+     * @param instructors the GPA information of the instructors
+     */
+    private void initialize(String title, List<Section> allSections,
+                            InstructorPool instructors) {
+        this.title = title;
+        this.allSections = allSections;
         this.credit = allSections.get(0).getCredit();
-        instructors = new InstructorPool(title);
+        this.instructors = instructors;
 
+        this.dictionary = new StringDictionary();
         for (Section section: allSections) {
-            section.setGPA(instructors.getGPA(section.getInstructor()));
+            section.encode(dictionary);
+        }
+        this.gpas = instructors.getGPAs(dictionary);
+        for (Section section: allSections) {
+            section.setGPA(gpas[section.getInstructorId()]);
         }
 
         Collections.sort(allSections, new Comparator<Section>() {
@@ -63,6 +105,7 @@ public class Course {
         for (Section section: allSections) {
             sections.add(section);
         }
+        this.classes = new EquivalenceTable(sections, allSections);
     }
 
     /**
@@ -73,6 +116,15 @@ public class Course {
         return credit;
     }
 
+    /**
+     * getter for version
+     * @return a counter increased every time the list of sections in
+     * consideration changes
+     */
+    public int getVersion() {
+        return version;
+    }
+
     /**
      * getter for instructors
      * @return InstructorPool for this course
@@ -81,6 +133,14 @@ public class Course {
         return instructors;
     }
 
+    /**
+     * getter for the number of sections in consideration
+     * @return the size of the sections list
+     */
+    public int getNumberOfSections() {
+        return sections.size();
+    }
+
     /**
      * getter for the title
      * @return the title for the course
@@ -104,7 +164,7 @@ public class Course {
         for (Section section : sections) {
             builder.append("\n-->Section " + String.format("%02d", count)
                     + " GPA: ");
-            Double gpa = instructors.getGPA(section.getInstructor());
+            Double gpa = getSectionGPA(count);
             builder.append(gpa != null ? String.format("%.2f", gpa)
                     : "unknown");
             builder.append("\n");
@@ -122,18 +182,99 @@ public class Course {
      * @param predicate a Predicate used to filter out unwanted sections
      */
     public void filterSections(Predicate<Section> predicate) {
-        this.sections = sections.stream()
+        List<Section> filtered = sections.stream()
                 .filter(predicate).collect(Collectors.toList());
+        if (filtered.size() != sections.size()) {
+            version++;
+            this.classes = new EquivalenceTable(filtered, allSections);
+        }
+        this.sections = filtered;
+    }
+
+    /**
+     * filter out the sections a compiled filter drops, among the sections
+     * still in consideration
+     * @param filter the filter
+     */
+    public void filterSections(SectionFilter filter) {
+        BitSet selection = getSelection();
+        selection.and(filter.evaluate(getCatalog()));
+        selectSections(selection);
+    }
+
+    /**
+     * Give the columns of all sections, built on first use; the row of a
+     * section is its position in all sections, whether filtered out or not,
+     * which is also its bit in the BitSets of SectionFilter
+     * @return the catalog of all sections
+     */
+    public SectionCatalog getCatalog() {
+        if (catalog == null) {
+            catalog = SectionCatalog.of(allSections, dictionary);
+        }
+        return catalog;
+    }
+
+    /**
+     * Give all sections, whether filtered out or not
+     * @return an unmodifiable list of all sections, in the order of the
+     * rows of getCatalog()
+     */
+    public List<Section> getAllSections() {
+        return Collections.unmodifiableList(allSections);
+    }
+
+    /**
+     * Give the sections in consideration
+     * @return a new BitSet over all sections, as in getCatalog(),
+     * with the bits of the sections in consideration set
+     */
+    public BitSet getSelection() {
+        BitSet selection = new BitSet(allSections.size());
+        for (int row : classes.rows) {
+            selection.set(row);
+        }
+        return selection;
+    }
+
+    /**
+     * Put exactly the selected sections in consideration, e.g. the result
+     * of combining several SectionFilter results with BitSet operations
+     * @param selection the bits over all sections, as in getCatalog()
+     * @throws IllegalArgumentException if the selection is null
+     */
+    public void selectSections(BitSet selection) {
+        if (selection == null) {
+            throw new IllegalArgumentException("Given selection is null.");
+        }
+        BitSet bits = selection.get(0, allSections.size());
+        if (bits.equals(getSelection())) {
+            return;
+        }
+        version++;
+        List<Section> selected = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            selected.add(allSections.get(i));
+        }
+        this.sections = selected;
+        this.classes = new EquivalenceTable(selected, allSections);
     }
 
     /**
      * Recover all sections including those have been filtered out previously
      */
     public void recoverAllSections() {
+        boolean changed = sections.size() != allSections.size();
+        if (changed) {
+            version++;
+        }
         this.sections = new ArrayList<>();
         for (Section section: allSections) {
             sections.add(section);
         }
+        if (changed) {
+            this.classes = new EquivalenceTable(sections, allSections);
+        }
     }
 
     /**
@@ -142,19 +283,54 @@ public class Course {
      * section
      */
     public ArrayList<Integer> getUniqueSectionIndices() {
-        ArrayList<Integer> sectionIndices = new ArrayList<>();
-        if (sections.size() == 0) {
-            return sectionIndices;
-        }
-        sectionIndices.add(0);
-        for (int i = 1; i < sections.size(); i++) {
-            if (!sections.get(i).equivalentTo(sections.get(i - 1))) {
-                sectionIndices.add(i);
-            }
+        ArrayList<Integer> sectionIndices = new ArrayList<>(classes.size());
+        for (int k = 0; k < classes.size(); k++) {
+            sectionIndices.add(classes.starts[k]);
         }
         return sectionIndices;
     }
 
+    /**
+     * getter for the number of unique sections in consideration
+     * @return the number of groups of equivalent sections
+     */
+    public int getNumberOfUniqueSections() {
+        return classes.size();
+    }
+
+    /**
+     * Give the first section of a unique section
+     * @param unique the position in getUniqueSectionIndices()
+     * @return the index of its first section in the sections list
+     */
+    public int getUniqueSectionStart(int unique) {
+        checkUnique(unique);
+        return classes.starts[unique];
+    }
+
+    /**
+     * Give the end of a unique section
+     * @param unique the position in getUniqueSectionIndices()
+     * @return the index after its last section in the sections list
+     */
+    public int getUniqueSectionEnd(int unique) {
+        checkUnique(unique);
+        return classes.starts[unique + 1];
+    }
+
+    /**
+     * Give the unique section a section belongs to
+     * @param index the index in sections list
+     * @return the position in getUniqueSectionIndices()
+     */
+    public int getUniquePosition(int index) {
+        if (index < 0 || index >= sections.size()) {
+            throw new IllegalArgumentException("Given index exceeds the bounds"
+            + " for sections list.");
+        }
+        return classes.positions[index];
+    }
+
     /**
      * Give the section at the specified index
      * @param index the index specifying the section to get
@@ -168,6 +344,19 @@ public class Course {
         return sections.get(index);
     }
 
+    /**
+     * Give the row of a section in consideration in getCatalog()
+     * @param index the index in sections list
+     * @return the row of the section
+     */
+    public int getSectionRow(int index) {
+        if (index < 0 || index >= sections.size()) {
+            throw new IllegalArgumentException("Given index exceeds the bounds"
+            + " for sections list.");
+        }
+        return classes.rows[index];
+    }
+
     /**
      * Give the gpa of the indexed section
      * @param index the index specifying the section for getting GPA
@@ -178,7 +367,12 @@ public class Course {
             throw new IllegalArgumentException("Given index exceeds the bounds"
                     + " for sections list.");
         }
-        return instructors.getGPA(sections.get(index).getInstructor());
+        Section section = sections.get(index);
+        int id = section.getInstructorId();
+        if (id < 0 || id >= gpas.length) {
+            return instructors.getGPA(section.getInstructor());
+        }
+        return gpas[id];
     }
 
     /**
@@ -187,23 +381,7 @@ public class Course {
      * @return equivalent section numbers
      */
     public String getAllEquivalentSectionNumbers(int index) {
-        ArrayList<Integer> indices = getUniqueSectionIndices();
-        int upIdx = 0;
-        while (upIdx < indices.size() && indices.get(upIdx) <= index) {
-            upIdx++;
-        }
-        int up;
-        if (upIdx == indices.size()) {
-            up = sections.size();
-        } else {
-            up = indices.get(upIdx);
-        }
-        int low = indices.get(upIdx - 1);
-        String sectionNumbers = "";
-        for (int i = low; i < up; i++) {
-            sectionNumbers += sections.get(i).getSectionNumber() + " ";
-        }
-        return sectionNumbers;
+        return classes.numbers[getUniquePosition(index)];
     }
 
     /**
@@ -212,22 +390,84 @@ public class Course {
      * @return equivalent section numbers
      */
     public String getAllEquivalentSectionCrns(int index) {
-        ArrayList<Integer> indices = getUniqueSectionIndices();
-        int upIdx = 0;
-        while (upIdx < indices.size() && indices.get(upIdx) <= index) {
-            upIdx++;
-        }
-        int up;
-        if (upIdx == indices.size()) {
-            up = sections.size();
-        } else {
-            up = indices.get(upIdx);
-        }
-        int low = indices.get(upIdx - 1);
-        String sectionCRNs = "";
-        for (int i = low; i < up; i++) {
-            sectionCRNs += sections.get(i).getCrn() + " ";
-        }
-        return sectionCRNs;
+        return classes.crns[getUniquePosition(index)];
+    }
+
+    /**
+     * Check a position in getUniqueSectionIndices()
+     * @param unique the position
+     * @throws IllegalArgumentException if it is out of bounds
+     */
+    private void checkUnique(int unique) {
+        if (unique < 0 || unique >= classes.size()) {
+            throw new IllegalArgumentException("Given index exceeds the bounds"
+            + " for unique sections.");
+        }
+    }
+
+    /**
+     * The groups of equivalent sections of a sections list, which are
+     * adjacent as the list is sorted, and the catalog rows of the sections;
+     * built whenever the list changes so that lookups while searching and
+     * printing take constant time
+     */
+    private static final class EquivalenceTable {
+        private final int[] starts;
+        private final int[] positions;
+        private final int[] rows;
+        private final String[] numbers;
+        private final String[] crns;
+
+        /**
+         * Constructor
+         * @param sections the sections in consideration
+         * @param allSections all sections, which sections is a sub-list of
+         */
+        private EquivalenceTable(List<Section> sections,
+                                 List<Section> allSections) {
+            rows = new int[sections.size()];
+            int row = 0;
+            for (int i = 0; i < sections.size(); i++) {
+                while (allSections.get(row) != sections.get(i)) {
+                    row++;
+                }
+                rows[i] = row;
+            }
+            int count = 0;
+            positions = new int[sections.size()];
+            for (int i = 0; i < sections.size(); i++) {
+                if (i > 0 && !sections.get(i).equivalentTo(
+                        sections.get(i - 1))) {
+                    count++;
+                }
+                positions[i] = count;
+            }
+            count = sections.size() == 0 ? 0 : count + 1;
+            starts = new int[count + 1];
+            numbers = new String[count];
+            crns = new String[count];
+            for (int k = 0; k < count; k++) {
+                int end = starts[k];
+                StringBuilder numberBuilder = new StringBuilder();
+                StringBuilder crnBuilder = new StringBuilder();
+                while (end < sections.size() && positions[end] == k) {
+                    numberBuilder.append(sections.get(end).getSectionNumber())
+                            .append(' ');
+                    crnBuilder.append(sections.get(end).getCrn()).append(' ');
+                    end++;
+                }
+                starts[k + 1] = end;
+                numbers[k] = numberBuilder.toString();
+                crns[k] = crnBuilder.toString();
+            }
+        }
+
+        /**
+         * getter for the size
+         * @return the number of groups
+         */
+        private int size() {
+            return numbers.length;
+        }
     }
 }
@@ -1,8 +1,12 @@
+import java.util.Arrays;
 import java.util.List;
 
 public class CourseCombo implements Comparable<CourseCombo> {
     private int[] indices;
     private double averageGPA;
+    private double[] objectiveValues;
+    private ComboTable table;
+    private int row;
 
     public CourseCombo(List<Course> courses, int[] indices,
                        boolean countNullAverage) {
@@ -15,17 +19,92 @@ public class CourseCombo implements Comparable<CourseCombo> {
         averageGPA = getAverageGPA(courses, indices, countNullAverage);
     }
 
+    /**
+     * Constructor for a combo whose average GPA is already known, e.g.
+     * accumulated while searching
+     * @param indices the section index chosen for every course
+     * @param averageGPA the credit weighted average GPA of the combo
+     * @throws IllegalArgumentException if given indices are null
+     */
+    public CourseCombo(int[] indices, double averageGPA) {
+        if (indices == null) {
+            throw new IllegalArgumentException("The indices are null.");
+        }
+        this.indices = indices;
+        this.averageGPA = averageGPA;
+    }
+
+    /**
+     * Constructor for a combo ranked by objectives other than the average
+     * GPA, which keeps the scores it was ranked by
+     * @param indices the section index chosen for every course
+     * @param averageGPA the credit weighted average GPA of the combo
+     * @param objectiveValues the score by every objective ranked by
+     * @throws IllegalArgumentException if given indices or scores are null
+     */
+    public CourseCombo(int[] indices, double averageGPA,
+                       double[] objectiveValues) {
+        this(indices, averageGPA);
+        if (objectiveValues == null) {
+            throw new IllegalArgumentException("The scores are null.");
+        }
+        this.objectiveValues = objectiveValues;
+    }
+
+    /**
+     * Constructor for a view of a row of a combo table, which copies
+     * neither the section indices nor the average GPA but reads both from
+     * the row, so they stay together if the table is sorted
+     * @param table the combo table
+     * @param row the row of the combo
+     */
+    public CourseCombo(ComboTable table, int row) {
+        this.table = table;
+        this.row = row;
+    }
+
     public int[] getCourseIndices() {
+        if (indices == null) {
+            return table.getCourseIndices(row);
+        }
         return indices;
     }
 
+    /**
+     * Give the section index chosen for one course
+     * @param course the index of the course
+     * @return the index in the sections list of the course
+     */
+    public int getCourseIndex(int course) {
+        if (indices == null) {
+            return table.getIndex(row, course);
+        }
+        return indices[course];
+    }
+
     public double getAverageGPA() {
+        if (table != null) {
+            return table.getAverageGPA(row);
+        }
         return averageGPA;
     }
 
+    /**
+     * Give the scores the combo was ranked by, e.g. by
+     * Schedule.getTopCombos(int, ComboObjective)
+     * @return the score by every objective, in the order they were given;
+     * empty if the combo was not ranked by any objective
+     */
+    public double[] getObjectiveValues() {
+        if (objectiveValues == null) {
+            return new double[0];
+        }
+        return Arrays.copyOf(objectiveValues, objectiveValues.length);
+    }
+
     @Override
     public int compareTo(CourseCombo other) {
-        double diff = this.averageGPA - other.averageGPA;
+        double diff = this.getAverageGPA() - other.getAverageGPA();
         if (diff == 0) {
             return 0;
         } else if (diff > 0) {
@@ -0,0 +1,234 @@
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+public class CourseLoader {
+    private int concurrency;
+    private long timeout;
+    private boolean virtualThreads;
+
+    /**
+     * Constructor for a loader building up to 8 courses at a time, giving
+     * every course 60 seconds, on virtual threads where the running Java
+     * has them
+     */
+    public CourseLoader() {
+        this.concurrency = 8;
+        this.timeout = TimeUnit.SECONDS.toNanos(60);
+        this.virtualThreads = true;
+    }
+
+    /**
+     * setter for concurrency
+     * @param concurrency the number of courses built at the same time
+     * @throws IllegalArgumentException if it is not positive
+     */
+    public void setConcurrency(int concurrency) {
+        if (concurrency <= 0) {
+            throw new IllegalArgumentException("The number of courses loaded"
+            + " at a time must be positive.");
+        }
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * setter for timeout
+     * @param timeout the longest time a course may take once started
+     * @param unit the unit of the timeout
+     * @throws IllegalArgumentException if the timeout is not positive or
+     * the unit is null
+     */
+    public void setTimeout(long timeout, TimeUnit unit) {
+        if (timeout <= 0 || unit == null) {
+            throw new IllegalArgumentException("The timeout must be positive"
+            + " and of a given unit.");
+        }
+        this.timeout = unit.toNanos(timeout);
+    }
+
+    /**
+     * setter for virtualThreads
+     * @param virtualThreads whether to build courses on virtual threads
+     *                       where the running Java has them; platform
+     *                       threads are used otherwise
+     */
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    /**
+     * Build the courses of some titles concurrently. Each course fetches
+     * its GPA information and parses its html file on its own thread, at
+     * most the concurrency limit of them at a time. A course that is not
+     * done within the timeout of its start is given up on; its thread is
+     * interrupted and no longer counts toward the limit.
+     * @param titles the titles of the courses
+     * @param fileNames the file names to the html files of the courses
+     * @return the courses, in the order of the titles
+     * @throws IllegalArgumentException if the arrays are null or of
+     * different length, or if any course fails or times out; the message
+     * lists every course that did, and the first failure is the cause
+     */
+    public List<Course> load(String[] titles, String[] fileNames) {
+        if (titles == null || fileNames == null
+                || titles.length != fileNames.length) {
+            throw new IllegalArgumentException("Given arrays of titles and"
+            + " file names are null or of different length.");
+        }
+        int count = titles.length;
+        final Semaphore permits = new Semaphore(concurrency);
+        final AtomicLongArray starts = new AtomicLongArray(count);
+        final AtomicBoolean[] released = new AtomicBoolean[count];
+        List<Future<Course>> futures = new ArrayList<>(count);
+        ExecutorService executor = newExecutor();
+        try {
+            for (int i = 0; i < count; i++) {
+                final int index = i;
+                final String title = titles[i];
+                final String fileName = fileNames[i];
+                released[i] = new AtomicBoolean();
+                futures.add(executor.submit(new Callable<Course>() {
+                    @Override
+                    public Course call() throws InterruptedException {
+                        permits.acquire();
+                        starts.set(index, System.nanoTime());
+                        try {
+                            return build(title, fileName);
+                        } finally {
+                            if (released[index].compareAndSet(false, true)) {
+                                permits.release();
+                            }
+                        }
+                    }
+                }));
+            }
+
+            List<Course> courses = new ArrayList<>(count);
+            List<String> failures = new ArrayList<>();
+            Throwable cause = null;
+            for (int i = 0; i < count; i++) {
+                Throwable failure;
+                try {
+                    courses.add(await(futures.get(i), starts, i));
+                    continue;
+                } catch (TimeoutException e) {
+                    futures.get(i).cancel(true);
+                    if (released[i].compareAndSet(false, true)) {
+                        permits.release();
+                    }
+                    failure = new TimeoutException("Took longer than "
+                    + TimeUnit.NANOSECONDS.toMillis(timeout) + " ms.");
+                } catch (ExecutionException e) {
+                    failure = e.getCause();
+                } catch (CancellationException e) {
+                    failure = e;
+                }
+                failures.add(titles[i] + " (" + (failure.getMessage() == null
+                        ? failure.toString() : failure.getMessage()) + ")");
+                if (cause == null) {
+                    cause = failure;
+                } else {
+                    cause.addSuppressed(failure);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new IllegalArgumentException("Fail to load "
+                + failures.size() + " of " + count + " courses: "
+                + String.join("; ", failures), cause);
+            }
+            return courses;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalArgumentException("Loading courses"
+            + " interrupted.");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Build one course, fetching its GPA information and parsing its html
+     * file; a subclass may build it otherwise, e.g. from synthetic data
+     * @param title the title of the course
+     * @param fileName the file name to the html file of the course
+     * @return the course
+     * @throws IllegalArgumentException if the course cannot be built
+     */
+    protected Course build(String title, String fileName) {
+        return new Course(title, fileName);
+    }
+
+    /**
+     * Wait for a course until the timeout has passed since it started;
+     * while it waits for a permit, its time does not run
+     * @param future the course
+     * @param starts the times the courses started at, 0 until they do
+     * @param index the index of the course
+     * @return the course
+     * @throws TimeoutException if the course is not done in time
+     * @throws ExecutionException if building the course failed
+     * @throws InterruptedException if the waiting thread is interrupted
+     */
+    private Course await(Future<Course> future, AtomicLongArray starts,
+                         int index) throws TimeoutException,
+            ExecutionException, InterruptedException {
+        while (true) {
+            long start = starts.get(index);
+            long wait = start == 0 ? timeout
+                    : start + timeout - System.nanoTime();
+            if (wait <= 0) {
+                if (future.isDone()) {
+                    return future.get();
+                }
+                throw new TimeoutException();
+            }
+            try {
+                return future.get(wait, TimeUnit.NANOSECONDS);
+            } catch (TimeoutException e) {
+                // not started yet, or time is up; the loop tells which
+            }
+        }
+    }
+
+    /**
+     * Create the executor to build the courses on: one virtual thread per
+     * course where the running Java has them, looked up reflectively so
+     * that older ones still run; one daemon platform thread per course
+     * otherwise, as a thread given up on must not hold back the others
+     * @return the executor
+     */
+    private ExecutorService newExecutor() {
+        if (virtualThreads) {
+            try {
+                Method method = Executors.class.getMethod(
+                        "newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) method.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                // no virtual threads before Java 21
+            }
+        }
+        final AtomicInteger number = new AtomicInteger();
+        return Executors.newCachedThreadPool(new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable,
+                        "course-loader-" + number.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+}
@@ -0,0 +1,66 @@
+public enum CourseOrder {
+    GIVEN,
+    FAIL_FIRST,
+    DYNAMIC;
+
+    /**
+     * Give the order in which a search visits the courses. GIVEN keeps the
+     * order of the titles, FAIL_FIRST and DYNAMIC start with the courses
+     * having the fewest unique sections.
+     * @param table the up-to-date conflict table of the courses
+     * @return order[position], the index of the course visited at that depth
+     */
+    public int[] initialOrder(ConflictTable table) {
+        int n = table.getNumberOfCourses();
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        if (this == GIVEN) {
+            return order;
+        }
+        // insertion sort keeps ties in the given order
+        for (int i = 1; i < n; i++) {
+            int course = order[i];
+            int j = i - 1;
+            while (j >= 0 && table.getUniqueCount(order[j])
+                    > table.getUniqueCount(course)) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = course;
+        }
+        return order;
+    }
+
+    /**
+     * Pick the course to visit at a depth. For DYNAMIC, the course with the
+     * fewest sections left compatible with the sections chosen so far is
+     * swapped into the position; the other orders keep the initial order.
+     * @param domain the remaining compatible sections of every course at
+     *               this depth
+     * @param order the visiting order, whose first position entries are the
+     *              courses already chosen
+     * @param position the depth to pick a course for
+     */
+    public void chooseNext(long[][] domain, int[] order, int position) {
+        if (this != DYNAMIC) {
+            return;
+        }
+        int best = position;
+        int bestCount = Integer.MAX_VALUE;
+        for (int p = position; p < order.length; p++) {
+            int count = 0;
+            for (long word : domain[order[p]]) {
+                count += Long.bitCount(word);
+            }
+            if (count < bestCount) {
+                best = p;
+                bestCount = count;
+            }
+        }
+        int course = order[best];
+        order[best] = order[position];
+        order[position] = course;
+    }
+}
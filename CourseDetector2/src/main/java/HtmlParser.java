@@ -2,20 +2,26 @@ import java.io.*;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 public class HtmlParser {
-    private static final String MARKUP_PATTERN_GENERAL =
-            "(<td class=\"dddefault\">)([^<>]+)(</td>)";
-    private static final String MARKUP_PATTERN_CRN =
-            "(crn_in=)(\\d\\d\\d\\d\\d)";
-    private static final String MARKUP_PATTERN_STATUS =
-            "(<td class=\"dddefault\"><abbr title=\"[a-zA-Z ]+\">)([A-Z]*)(</abbr></td>)";
-    private static final String MARKUP_PATTERN_INSTRUCTOR =
-            "(<td class=\"dddefault\">)([^<>]+)(\\(<abbr title=\"Primary\">P</abbr>\\)</td>)";
-    private static final String MARKUP_PATTERN_MULTI_COL =
-            "(<td colspan=\")([\\d]+)(\" class=\"dddefault\"><abbr title=\".*\">)(.*)(</abbr></td>)";
+    private static final String CELL = "<td class=\"dddefault\">";
+    private static final String CELL_END = "</td>";
+    private static final String ABBR = "<abbr title=\"";
+    private static final String ABBR_CLOSE = "\">";
+    private static final String ABBR_END = "</abbr></td>";
+    private static final String PRIMARY
+            = "(<abbr title=\"Primary\">P</abbr>)</td>";
+    private static final String CRN_LINK = "crn_in=";
+    private static final int CRN_LENGTH = 5;
+    private static final String MULTI_COL_CELL = "<td colspan=\"";
+    private static final String MULTI_COL_CLASS
+            = "\" class=\"dddefault\">" + ABBR;
+    private static final int GENERAL_CELL = 0;
+    private static final int CRN_CELL = 1;
+    private static final int STATUS_CELL = 2;
+    private static final int INSTRUCTOR_CELL = 3;
+    private static final int MULTI_COL_CELL_KIND = 4;
+    private static final int NO_CELL = 5;
     private static final String NULL_ENTRY = " ";
     private static final String TBA = "TBA";
     private static final int TABLE_COL = 20;
@@ -38,49 +44,20 @@ public class HtmlParser {
 
     /**
      * Generate a list of all entries in the table presented in html
-     * @param path the path to the html file
+     * @param path the path to the html file, in UTF-8 as SeleniumChrome
+     *             saves it
      * @return a list of all entries in the table
      * @throws IllegalArgumentException for any IO exceptions
      */
-    private List<String> getTableEntries(String path) {
+    List<String> getTableEntries(String path) {
         List<String> entries = new ArrayList<>();
         File file = new File(path);
         try {
-            BufferedReader reader = new BufferedReader(new FileReader(file));
+            BufferedReader reader = new BufferedReader(new InputStreamReader(
+                    new FileInputStream(file), "UTF-8"));
             String line = reader.readLine();
-            Pattern patternGeneral = Pattern.compile(MARKUP_PATTERN_GENERAL);
-            Pattern patternCrn = Pattern.compile(MARKUP_PATTERN_CRN);
-            Pattern patternStatus = Pattern.compile(MARKUP_PATTERN_STATUS);
-            Pattern patternInstructor = Pattern.compile(MARKUP_PATTERN_INSTRUCTOR);
-            Pattern patternMultiCol = Pattern.compile(MARKUP_PATTERN_MULTI_COL);
             while (line != null) {
-                Matcher m = patternGeneral.matcher(line);
-                if (m.find()) {
-                    entries.add(m.group(2));
-                } else {
-                    m = patternCrn.matcher(line);
-                    if (m.find()) {
-                        entries.add(m.group(2));
-                    } else {
-                        m = patternStatus.matcher(line);
-                        if (m.find()) {
-                            entries.add(m.group(2));
-                        } else {
-                            m = patternInstructor.matcher(line);
-                            if (m.find()) {
-                                entries.add(m.group(2));
-                            } else {
-                                m = patternMultiCol.matcher(line);
-                                if (m.find()) {
-                                    int col = Integer.parseInt(m.group(2));
-                                    for (int i = 0; i < col; i++) {
-                                        entries.add(m.group(4));
-                                    }
-                                }
-                            }
-                        }
-                    }
-                }
+                scanLine(line, 0, line.length(), entries);
                 line = reader.readLine();
             }
             reader.close();
@@ -93,6 +70,234 @@ public class HtmlParser {
         return entries;
     }
 
+    /**
+     * Find the entry of a line in one pass over its characters and add it.
+     * A line gives at most one entry, taken from the first cell of the
+     * first kind it has, in this order:
+     * <ol>
+     *     <li>{@code <td class="dddefault">text</td>}, text without
+     *     angle brackets</li>
+     *     <li>{@code crn_in=ddddd}</li>
+     *     <li>{@code <td class="dddefault"><abbr title="Words">CODE</abbr></td>}
+     *     </li>
+     *     <li>{@code <td class="dddefault">name (<abbr title="Primary">P</abbr>)</td>}
+     *     </li>
+     *     <li>{@code <td colspan="n" class="dddefault"><abbr title="...">text</abbr></td>},
+     *     giving text n times; the title reaches the last {@code ">} before
+     *     the last {@code </abbr></td>}</li>
+     * </ol>
+     * @param text the text holding the line
+     * @param lineBegin the index the line begins at
+     * @param lineEnd the index after the line, before its terminator
+     * @param entries the entries to add to
+     */
+    private static void scanLine(CharSequence text, int lineBegin,
+                                 int lineEnd, List<String> entries) {
+        int kind = NO_CELL;
+        String entry = null;
+        int count = 1;
+        for (int i = lineBegin; i < lineEnd; i++) {
+            char c = text.charAt(i);
+            if (c == 'c') {
+                if (kind > CRN_CELL
+                        && startsWith(text, i, lineEnd, CRN_LINK)) {
+                    int begin = i + CRN_LINK.length();
+                    int end = begin + CRN_LENGTH;
+                    if (digitsEnd(text, begin, lineEnd) >= end) {
+                        kind = CRN_CELL;
+                        entry = slice(text, begin, end);
+                        count = 1;
+                    }
+                }
+                continue;
+            }
+            if (c != '<') {
+                continue;
+            }
+            if (startsWith(text, i, lineEnd, CELL)) {
+                int begin = i + CELL.length();
+                int end = begin;
+                while (end < lineEnd && text.charAt(end) != '<'
+                        && text.charAt(end) != '>') {
+                    end++;
+                }
+                if (end > begin && startsWith(text, end, lineEnd, CELL_END)) {
+                    entries.add(slice(text, begin, end));
+                    return;
+                }
+                if (kind > STATUS_CELL
+                        && startsWith(text, begin, lineEnd, ABBR)) {
+                    int titleEnd = begin + ABBR.length();
+                    while (titleEnd < lineEnd
+                            && isTitleChar(text.charAt(titleEnd))) {
+                        titleEnd++;
+                    }
+                    if (titleEnd > begin + ABBR.length() && startsWith(text,
+                            titleEnd, lineEnd, ABBR_CLOSE)) {
+                        int codeBegin = titleEnd + ABBR_CLOSE.length();
+                        int codeEnd = codeBegin;
+                        while (codeEnd < lineEnd
+                                && text.charAt(codeEnd) >= 'A'
+                                && text.charAt(codeEnd) <= 'Z') {
+                            codeEnd++;
+                        }
+                        if (startsWith(text, codeEnd, lineEnd, ABBR_END)) {
+                            kind = STATUS_CELL;
+                            entry = slice(text, codeBegin, codeEnd);
+                            count = 1;
+                        }
+                    }
+                }
+                if (kind > INSTRUCTOR_CELL && end - 1 > begin
+                        && text.charAt(end - 1) == '('
+                        && startsWith(text, end - 1, lineEnd, PRIMARY)) {
+                    kind = INSTRUCTOR_CELL;
+                    entry = slice(text, begin, end - 1);
+                    count = 1;
+                }
+            } else if (kind > MULTI_COL_CELL_KIND
+                    && startsWith(text, i, lineEnd, MULTI_COL_CELL)) {
+                int begin = i + MULTI_COL_CELL.length();
+                int end = digitsEnd(text, begin, lineEnd);
+                if (end > begin
+                        && startsWith(text, end, lineEnd, MULTI_COL_CLASS)) {
+                    int titleBegin = end + MULTI_COL_CLASS.length();
+                    int limit = titleBegin;
+                    while (limit < lineEnd
+                            && !isLineTerminator(text.charAt(limit))) {
+                        limit++;
+                    }
+                    int textEnd = lastIndexOf(text, ABBR_END,
+                            limit - ABBR_END.length(), titleBegin);
+                    int titleEnd = lastIndexOf(text, ABBR_CLOSE,
+                            textEnd - ABBR_CLOSE.length(), titleBegin);
+                    if (titleEnd >= titleBegin) {
+                        kind = MULTI_COL_CELL_KIND;
+                        entry = slice(text, titleEnd + ABBR_CLOSE.length(),
+                                textEnd);
+                        count = Integer.parseInt(slice(text, begin, end));
+                    }
+                }
+            }
+        }
+        for (int i = 0; kind != NO_CELL && i < count; i++) {
+            entries.add(entry);
+        }
+    }
+
+    /**
+     * Copy part of some text
+     * @param text the text
+     * @param begin the index the part begins at
+     * @param end the index after the part
+     * @return the part
+     */
+    private static String slice(CharSequence text, int begin, int end) {
+        return text.subSequence(begin, end).toString();
+    }
+
+    /**
+     * Find where a run of digits ends
+     * @param text the text
+     * @param begin the index the run begins at
+     * @param limit the index the run cannot reach
+     * @return the index of the first character after the run
+     */
+    private static int digitsEnd(CharSequence text, int begin, int limit) {
+        int end = begin;
+        while (end < limit && text.charAt(end) >= '0'
+                && text.charAt(end) <= '9') {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Check if some text holds a string at an index
+     * @param text the text
+     * @param index the index
+     * @param limit the index the string cannot reach past
+     * @param s the string
+     * @return true if the string is at the index
+     */
+    private static boolean startsWith(CharSequence text, int index, int limit,
+                                      String s) {
+        if (index < 0 || index + s.length() > limit) {
+            return false;
+        }
+        for (int k = 0; k < s.length(); k++) {
+            if (text.charAt(index + k) != s.charAt(k)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Find the last place some text holds a string, searching backward
+     * @param text the text
+     * @param s the string
+     * @param from the last index the string can begin at
+     * @param lower the first index the string can begin at
+     * @return the index, -1 if there is none
+     */
+    private static int lastIndexOf(CharSequence text, String s, int from,
+                                   int lower) {
+        for (int index = from; index >= lower; index--) {
+            if (startsWith(text, index, index + s.length(), s)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Check if a character can be in the title of a status
+     * @param c the character
+     * @return true if it is an ASCII letter or a space
+     */
+    private static boolean isTitleChar(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == ' ';
+    }
+
+    /**
+     * Check if a character ends a line, as the ones a line read by
+     * readLine() can still hold
+     * @param c the character
+     * @return true if it is a line terminator
+     */
+    private static boolean isLineTerminator(char c) {
+        return c == '\n' || c == '\r' || c == '\u0085' || c == '\u2028'
+                || c == '\u2029';
+    }
+
+    /**
+     * Generate a list of all entries in the table presented in html already
+     * decoded, splitting lines where BufferedReader.readLine() does without
+     * copying them out
+     * @param page the characters of the html page
+     * @return a list of all entries in the table
+     */
+    List<String> getTableEntries(CharSequence page) {
+        List<String> entries = new ArrayList<>();
+        int length = page.length();
+        int lineBegin = 0;
+        while (lineBegin < length) {
+            int lineEnd = lineBegin;
+            while (lineEnd < length && page.charAt(lineEnd) != '\n'
+                    && page.charAt(lineEnd) != '\r') {
+                lineEnd++;
+            }
+            scanLine(page, lineBegin, lineEnd, entries);
+            lineBegin = lineEnd + 1;
+            if (lineEnd + 1 < length && page.charAt(lineEnd) == '\r'
+                    && page.charAt(lineEnd + 1) == '\n') {
+                lineBegin++;
+            }
+        }
+        return entries;
+    }
+
     /**
      * Create a list of all sections listed in the html file table
      * @param path the path to the html file
@@ -101,8 +306,31 @@ public class HtmlParser {
      * or the pattern is unidentifiable
      */
     public List<Section> parseCourse(String path) {
-        List<String> entries = getTableEntries(path);
+        return parseEntries(getTableEntries(path), path);
+    }
 
+    /**
+     * Create a list of all sections listed in the table of an html page
+     * read already, e.g. from a mapped file
+     * @param page the characters of the html page
+     * @param path the path to the html file, only for messages
+     * @return a list of all sections
+     * @throws IllegalArgumentException the html table is formatted incorrectly
+     * or the pattern is unidentifiable
+     */
+    public List<Section> parseCourse(CharSequence page, String path) {
+        return parseEntries(getTableEntries(page), path);
+    }
+
+    /**
+     * Create a list of all sections from the entries of an html table
+     * @param entries the entries of the table
+     * @param path the path to the html file, only for messages
+     * @return a list of all sections
+     * @throws IllegalArgumentException the html table is formatted incorrectly
+     * or the pattern is unidentifiable
+     */
+    private List<Section> parseEntries(List<String> entries, String path) {
         if (entries.size() % TABLE_COL != 0) {
             int count = 0;
             for (String line: entries) {
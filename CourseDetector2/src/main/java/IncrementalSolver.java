@@ -0,0 +1,208 @@
+import java.util.Arrays;
+import java.util.List;
+
+public class IncrementalSolver {
+    private static final int MAX_REST = 1 << 18;
+
+    private List<Course> courses;
+    private int[] versions;
+    private boolean countNullAverage;
+    private ComboTable last;
+    private int pivot;
+    private int[] rest;
+    private int restSize;
+    private boolean lastIncremental;
+
+    /**
+     * Constructor
+     * @param courses the courses in the schedule
+     */
+    public IncrementalSolver(List<Course> courses) {
+        this.courses = courses;
+        this.versions = new int[courses.size()];
+        this.pivot = -1;
+    }
+
+    /**
+     * Calculate all possible combinations of sections, reusing the work of
+     * the previous call. When only one course was filtered since then, the
+     * combinations of all other courses are kept, so filtering the same
+     * course again only joins its sections with them. Keeping them costs
+     * one search of the tree without the filtered course and n - 1 ints per
+     * combination; when there are more than MAX_REST of them, which the
+     * course that was left out no longer prunes, they are not kept and
+     * every solve searches the whole tree instead.
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @param countNullAverage the flag the scores were resolved with
+     * @return a table of all possible combinations; not in back-tracing
+     * order after an incremental solve
+     */
+    public ComboTable solve(ConflictTable table, ScoreTable scores,
+                            boolean countNullAverage) {
+        int changed = -1;
+        int changedCount = 0;
+        for (int i = 0; i < courses.size(); i++) {
+            if (courses.get(i).getVersion() != versions[i]) {
+                changed = i;
+                changedCount++;
+            }
+        }
+        boolean sameScores = last != null
+                && countNullAverage == this.countNullAverage;
+        lastIncremental = sameScores && changedCount <= 1;
+        if (sameScores && changedCount == 0) {
+            return last;
+        }
+        if (!lastIncremental) {
+            pivot = -1;
+            rest = null;
+        } else if (changed != pivot) {
+            pivot = changed;
+            collectRest(table);
+        }
+        if (rest == null) {
+            // either nothing to reuse or too much of it to keep
+            lastIncremental = false;
+            ComboTask task = new ComboTask(courses, table, scores,
+                    CourseOrder.GIVEN, false);
+            last = task.compute();
+        } else {
+            last = join(table, scores);
+        }
+        for (int i = 0; i < courses.size(); i++) {
+            versions[i] = courses.get(i).getVersion();
+        }
+        this.countNullAverage = countNullAverage;
+        return last;
+    }
+
+    /**
+     * getter for lastIncremental
+     * @return true if the last solve() reused the previous results
+     */
+    public boolean isLastIncremental() {
+        return lastIncremental;
+    }
+
+    /**
+     * Enumerate the combinations of the unique sections of all courses but
+     * the pivot and keep them as unique positions, n - 1 per combination in
+     * the order of the courses without the pivot; gives up as soon as there
+     * are more than MAX_REST of them
+     * @param table the up-to-date conflict table of the courses
+     */
+    private void collectRest(ConflictTable table) {
+        int n = courses.size();
+        int[] order = new int[n - 1];
+        for (int i = 0, p = 0; i < n; i++) {
+            if (i != pivot) {
+                order[p++] = i;
+            }
+        }
+        rest = new int[64 * order.length];
+        restSize = 0;
+        if (order.length == 0) {
+            restSize = 1;
+            return;
+        }
+        if (!restHelper(table, order, 0, new int[n], table.newDomains())) {
+            rest = null;
+            restSize = 0;
+        }
+    }
+
+    /**
+     * Back-tracing over all courses but the pivot
+     * @param table the up-to-date conflict table of the courses
+     * @param order the courses to visit
+     * @param depth the number of courses chosen so far
+     * @param currCombo the unique positions chosen, indexed by course
+     * @param domains the remaining compatible sections at every depth
+     * @return false if there are more than MAX_REST combinations
+     */
+    private boolean restHelper(ConflictTable table, int[] order, int depth,
+                               int[] currCombo, long[][][] domains) {
+        if (depth == order.length) {
+            if (restSize == MAX_REST) {
+                return false;
+            }
+            int width = order.length;
+            if ((restSize + 1) * width > rest.length) {
+                rest = Arrays.copyOf(rest, rest.length * 2);
+            }
+            int offset = restSize * width;
+            for (int p = 0; p < width; p++) {
+                rest[offset + p] = currCombo[order[p]];
+            }
+            restSize++;
+            return true;
+        }
+        int course = order[depth];
+        long[] current = domains[depth][course];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                if (table.narrow(course, unique, domains[depth],
+                        domains[depth + 1], order, depth + 1)) {
+                    currCombo[course] = unique;
+                    if (!restHelper(table, order, depth + 1, currCombo,
+                            domains)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Combine every kept combination with the sections of the pivot it is
+     * compatible with
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @return a table of all possible combinations
+     */
+    private ComboTable join(ConflictTable table, ScoreTable scores) {
+        int n = courses.size();
+        int maxIndex = 0;
+        for (int i = 0; i < n; i++) {
+            int count = table.getUniqueCount(i);
+            if (count > 0) {
+                maxIndex = Math.max(maxIndex,
+                        table.getSectionIndex(i, count - 1));
+            }
+        }
+        ComboTable combos = new ComboTable(n, maxIndex);
+        long[] all = table.allSections(pivot);
+        long[] domain = new long[all.length];
+        int[] combo = new int[n];
+        for (int row = 0; row < restSize; row++) {
+            int offset = row * (n - 1);
+            System.arraycopy(all, 0, domain, 0, all.length);
+            for (int i = 0, p = offset; i < n; i++) {
+                if (i == pivot) {
+                    continue;
+                }
+                int unique = rest[p++];
+                long[] compatible = table.getCompatible(i, unique, pivot);
+                for (int w = 0; w < domain.length; w++) {
+                    domain[w] &= compatible[w];
+                }
+                combo[i] = table.getSectionIndex(i, unique);
+            }
+            for (int w = 0; w < domain.length; w++) {
+                long bits = domain[w];
+                while (bits != 0) {
+                    int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                    combo[pivot] = table.getSectionIndex(pivot, unique);
+                    combos.add(combo, scores.getAverage(combo));
+                }
+            }
+        }
+        return combos;
+    }
+}
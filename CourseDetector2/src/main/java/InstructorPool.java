@@ -1,6 +1,9 @@
 import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
+import java.util.Collections;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.regex.Matcher;
@@ -9,42 +12,90 @@ import java.util.regex.Pattern;
 public class InstructorPool {
     private Map<String, Double> instructors;
     private double avgGPA;
+    private long loadTime;
     private static final String URL_HEADER
             = "https://critique.gatech.edu/course.php?id=";
     private static final String DEFAULT_ENCODING = "UTF-8";
-    private static final String TABLE_BODY_MARKUP = "(<tr class=\"[A-Z\\.]+\">)(.+)(</tr>)";
-    private static final String INSTRUCTOR_NAME_MARKUP = "([A-Za-z \\-\\.]+, [A-Z])([A-Za-z \\-]*)";
-    private static final String GPA_MARKUP = "(\\d\\.\\d\\d)";
+    private static final Pattern TABLE_BODY_MARKUP
+            = Pattern.compile("(<tr class=\"[A-Z\\.]+\">)(.+)(</tr>)");
+    private static final Pattern INSTRUCTOR_NAME_MARKUP
+            = Pattern.compile("([A-Za-z \\-\\.]+, [A-Z])([A-Za-z \\-]*)");
+    private static final Pattern GPA_MARKUP
+            = Pattern.compile("(\\d\\.\\d\\d)");
 
     /**
      * Constructor
      * @param courseTitle the title of the course
      */
     public InstructorPool(String courseTitle) {
-        instructors = new HashMap<>();
-
+        long start = System.nanoTime();
         String fullURL = URL_HEADER + courseTitle;
-        String html = getPageSource(fullURL, DEFAULT_ENCODING);
-        Pattern pattern = Pattern.compile(TABLE_BODY_MARKUP);
-        Matcher m = pattern.matcher(html);
-        int count = 0;
-        double totalGPA = 0;
-        while (m.find()) {
-            String fragment = m.group(2);
-            Pattern namePattern = Pattern.compile(INSTRUCTOR_NAME_MARKUP);
-            Matcher mName = namePattern.matcher(fragment);
-            Pattern gpaPattern = Pattern.compile(GPA_MARKUP);
-            Matcher mGPA = gpaPattern.matcher(fragment);
-            if (mName.find() && mGPA.find()) {
-                instructors.put(mName.group(1) + ".",
-                        Double.parseDouble(mGPA.group(1)));
-                count++;
-                totalGPA += Double.parseDouble(mGPA.group(1));
+        try {
+            InputStream in = new URL(fullURL).openStream();
+            try {
+                read(in, DEFAULT_ENCODING);
+            } finally {
+                in.close();
             }
+        } catch (Exception ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+        loadTime = System.nanoTime() - start;
+    }
+
+    /**
+     * Constructor for a critique page already at hand, e.g. saved to a file
+     * @param in the stream of the page, left open
+     * @param encoding encoding
+     * @throws IllegalArgumentException if the stream is null or cannot be
+     * read
+     */
+    public InstructorPool(InputStream in, String encoding) {
+        if (in == null) {
+            throw new IllegalArgumentException("Given stream is null.");
+        }
+        long start = System.nanoTime();
+        try {
+            read(in, encoding);
+        } catch (IOException ex) {
+            throw new IllegalArgumentException(ex.getMessage());
+        }
+        loadTime = System.nanoTime() - start;
+    }
+
+    /**
+     * Constructor for GPA information known already
+     * @param instructors the GPA of every instructor, keyed by the
+     *                    abbreviated name sections list them by
+     * @throws IllegalArgumentException if the map is null
+     */
+    public InstructorPool(Map<String, Double> instructors) {
+        if (instructors == null) {
+            throw new IllegalArgumentException("Given map of instructors is"
+            + " null.");
         }
+        this.instructors = new HashMap<>(instructors);
+        double totalGPA = 0;
+        for (double gpa : this.instructors.values()) {
+            totalGPA += gpa;
+        }
+        int count = this.instructors.size();
         avgGPA = (count == 0)? 4 : totalGPA / count;
     }
 
+    /**
+     * Constructor for GPA information known already along with its
+     * average, e.g. read back from a snapshot
+     * @param instructors the GPA of every instructor, keyed by the
+     *                    abbreviated name sections list them by
+     * @param avgGPA the average GPA of the course
+     * @throws IllegalArgumentException if the map is null
+     */
+    public InstructorPool(Map<String, Double> instructors, double avgGPA) {
+        this(instructors);
+        this.avgGPA = avgGPA;
+    }
+
     /**
      * getter for avgGPA
      * @return avgGPA
@@ -54,30 +105,47 @@ public class InstructorPool {
     }
 
     /**
-     * get the html String associated with the url address
-     * @param pageUrl the url
+     * getter for loadTime
+     * @return the nanoseconds spent reading and parsing the critique page,
+     * 0 if the GPA information was given
+     */
+    public long getLoadTime() {
+        return loadTime;
+    }
+
+    /**
+     * Read the GPA of every instructor from a critique page line by line,
+     * without keeping the page; a table row never spans lines, as "." in
+     * the markup does not match line terminators
+     * @param in the stream of the page
      * @param encoding encoding
-     * @return html of the page
+     * @throws IOException if the stream cannot be read
      */
-    private String getPageSource(String pageUrl, String encoding) {
-        StringBuffer sb = new StringBuffer();
-        try {
-            //构建一URL对象
-            URL url = new URL(pageUrl);
-            //使用openStream得到一输入流并由此构造一个BufferedReader对象
-            BufferedReader in = new BufferedReader(new InputStreamReader(url
-                    .openStream(), encoding));
-            String line;
-            //读取www资源
-            while ((line = in.readLine()) != null) {
-                sb.append(line);
-                sb.append("\n");
+    private void read(InputStream in, String encoding) throws IOException {
+        instructors = new HashMap<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in,
+                encoding));
+        Matcher m = TABLE_BODY_MARKUP.matcher("");
+        Matcher mName = INSTRUCTOR_NAME_MARKUP.matcher("");
+        Matcher mGPA = GPA_MARKUP.matcher("");
+        int count = 0;
+        double totalGPA = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            m.reset(line);
+            while (m.find()) {
+                String fragment = m.group(2);
+                mName.reset(fragment);
+                mGPA.reset(fragment);
+                if (mName.find() && mGPA.find()) {
+                    double gpa = Double.parseDouble(mGPA.group(1));
+                    instructors.put(mName.group(1) + ".", gpa);
+                    count++;
+                    totalGPA += gpa;
+                }
             }
-            in.close();
-        } catch (Exception ex) {
-            throw new IllegalArgumentException(ex.getMessage());
         }
-        return sb.toString();
+        avgGPA = (count == 0)? 4 : totalGPA / count;
     }
 
     /**
@@ -89,6 +157,30 @@ public class InstructorPool {
         return instructors.get(instructorName);
     }
 
+    /**
+     * getter for instructors
+     * @return an unmodifiable view of the GPA of every instructor, keyed by
+     * the abbreviated name
+     */
+    public Map<String, Double> getInstructorGPAs() {
+        return Collections.unmodifiableMap(instructors);
+    }
+
+    /**
+     * Look up the GPA of every string of a dictionary once, so that
+     * sections encoded by it find their GPA by the id of their instructor
+     * @param dictionary the dictionary holding the instructors
+     * @return the GPA by id, null where the string is not an instructor
+     * with GPA information
+     */
+    public Double[] getGPAs(StringDictionary dictionary) {
+        Double[] gpas = new Double[dictionary.size()];
+        for (int id = 0; id < gpas.length; id++) {
+            gpas[id] = instructors.get(dictionary.value(id));
+        }
+        return gpas;
+    }
+
     /**
      * Overrides to super class's toString() method
      * @return a String representation of the Map
@@ -0,0 +1,192 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class ObjectiveSearch {
+    private static final double EPSILON = 1e-9;
+
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private CourseOrder courseOrder;
+    private ComboObjective objective;
+    private int[] order;
+    private int k;
+    private ComboState state;
+    private PriorityQueue<Ranked> best;
+    private Comparator<Ranked> ranking;
+    private double[] values;
+    private long nodes;
+
+    /**
+     * Constructor
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @param courseOrder the order to visit the courses in
+     * @param objective the score to rank combos by, higher first
+     * @param k the number of combos to keep
+     * @throws IllegalArgumentException if the objective is null or k is not
+     * positive
+     */
+    public ObjectiveSearch(List<Course> courses, ConflictTable table,
+                           ScoreTable scores, CourseOrder courseOrder,
+                           ComboObjective objective, int k) {
+        if (objective == null || k <= 0) {
+            throw new IllegalArgumentException("The objective cannot be null"
+            + " and the number of combos to keep must be positive.");
+        }
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.courseOrder = courseOrder;
+        this.objective = objective;
+        this.k = k;
+        // best first: higher score, then the lexicographically smaller
+        // section indices
+        this.ranking = new Comparator<Ranked>() {
+            @Override
+            public int compare(Ranked r1, Ranked r2) {
+                if (r1.value != r2.value) {
+                    return r1.value > r2.value ? -1 : 1;
+                }
+                for (int i = 0; i < r1.indices.length; i++) {
+                    if (r1.indices[i] != r2.indices[i]) {
+                        return r1.indices[i] < r2.indices[i] ? -1 : 1;
+                    }
+                }
+                return 0;
+            }
+        };
+    }
+
+    /**
+     * Find the best k combos by the objective, updating it section by
+     * section and pruning every branch whose bound cannot beat the k-th
+     * best combo found so far
+     * @return at most k combos, best first; their average GPA is set as
+     * usual and their score is their only objective value
+     */
+    public List<CourseCombo> search() {
+        int n = courses.size();
+        best = new PriorityQueue<>(k + 1, Collections.reverseOrder(ranking));
+        nodes = 0;
+        order = courseOrder.initialOrder(table);
+        state = new ComboState(courses, table, scores);
+        searchHelper(0, new int[n], table.newDomains());
+
+        List<Ranked> ranked = new ArrayList<>(best);
+        Collections.sort(ranked, ranking);
+        List<CourseCombo> combos = new ArrayList<>(ranked.size());
+        values = new double[ranked.size()];
+        for (int i = 0; i < ranked.size(); i++) {
+            int[] indices = ranked.get(i).indices;
+            combos.add(new CourseCombo(indices, scores.getAverage(indices),
+                    new double[] {ranked.get(i).value}));
+            values[i] = ranked.get(i).value;
+        }
+        return combos;
+    }
+
+    /**
+     * Give the score of a combo found by the last search
+     * @param rank the position of the combo in the list returned
+     * @return the score by the objective
+     */
+    public double getValue(int rank) {
+        return values[rank];
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried during the last search
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Back-tracing with branch-and-bound
+     * @param currDepth the number of courses chosen so far
+     * @param currCombo the combo workspace, indexed by course
+     * @param domains the remaining compatible sections at every depth
+     */
+    private void searchHelper(int currDepth, int[] currCombo,
+                              long[][][] domains) {
+        if (currDepth == courses.size()) {
+            offer(currCombo, objective.evaluate(state));
+            return;
+        }
+        courseOrder.chooseNext(domains[currDepth], order, currDepth);
+        int course = order[currDepth];
+        long[] current = domains[currDepth][course];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                state.push(course, unique);
+                if (!cannotEnter(objective.bound(state))
+                        && table.narrow(course, unique, domains[currDepth],
+                        domains[currDepth + 1], order, currDepth + 1)) {
+                    currCombo[course] = table.getSectionIndex(course, unique);
+                    searchHelper(currDepth + 1, currCombo, domains);
+                }
+                state.pop();
+            }
+        }
+    }
+
+    /**
+     * Keep a complete combo if it is among the best k so far
+     * @param currCombo the section indices of the combo
+     * @param value the score of the combo
+     */
+    private void offer(int[] currCombo, double value) {
+        if (cannotEnter(value)) {
+            return;
+        }
+        Ranked ranked = new Ranked(value,
+                Arrays.copyOf(currCombo, currCombo.length));
+        if (best.size() < k) {
+            best.add(ranked);
+        } else if (ranking.compare(ranked, best.peek()) < 0) {
+            best.poll();
+            best.add(ranked);
+        }
+    }
+
+    /**
+     * Test if combos scoring at most the given value can be skipped
+     * @param value an upper bound of the score
+     * @return true if the best k are found and all beat the given value
+     */
+    private boolean cannotEnter(double value) {
+        if (best.size() < k) {
+            return false;
+        }
+        return value + EPSILON < best.peek().value;
+    }
+
+    /**
+     * A combo found with its score
+     */
+    private static class Ranked {
+        private double value;
+        private int[] indices;
+
+        /**
+         * Constructor
+         * @param value the score of the combo
+         * @param indices the section index chosen for every course
+         */
+        private Ranked(double value, int[] indices) {
+            this.value = value;
+            this.indices = indices;
+        }
+    }
+}
@@ -0,0 +1,131 @@
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParetoFront {
+    private int dimensions;
+    private List<double[]> values;
+    private List<int[]> combos;
+
+    /**
+     * Constructor for an empty front; points are kept sorted by their first
+     * value, best first, so a point can only be dominated by the points
+     * before it and can only dominate the points after it
+     * @param dimensions the number of values of every point, higher is
+     *                   better for each of them
+     * @throws IllegalArgumentException if dimensions is not positive
+     */
+    public ParetoFront(int dimensions) {
+        if (dimensions <= 0) {
+            throw new IllegalArgumentException("A Pareto front needs at least"
+            + " one dimension.");
+        }
+        this.dimensions = dimensions;
+        this.values = new ArrayList<>();
+        this.combos = new ArrayList<>();
+    }
+
+    /**
+     * getter for the size
+     * @return the number of points on the front
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Give the values of a point
+     * @param index the position of the point, by first value descending
+     * @return the values of the point; not to be changed
+     */
+    public double[] getValues(int index) {
+        return values.get(index);
+    }
+
+    /**
+     * Give the combo of a point
+     * @param index the position of the point, by first value descending
+     * @return the section index chosen for every course; not to be changed
+     */
+    public int[] getCombo(int index) {
+        return combos.get(index);
+    }
+
+    /**
+     * Test if some point on the front dominates the given values, that is
+     * it is at least as good in every dimension and better in one; when the
+     * values bound a partial combo, no completion of it can join the front
+     * @param point the values to test
+     * @return true if the values are dominated
+     */
+    public boolean dominates(double[] point) {
+        for (int i = 0; i < values.size(); i++) {
+            double[] other = values.get(i);
+            if (other[0] < point[0]) {
+                break;
+            }
+            if (dominates(other, point)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add a point unless it is dominated, removing the points it dominates;
+     * points with equal values are all kept
+     * @param point the values of the combo
+     * @param combo the section index chosen for every course, kept as is
+     * @return true if the point joined the front
+     */
+    public boolean add(double[] point, int[] combo) {
+        if (point.length != dimensions) {
+            throw new IllegalArgumentException("Given point does not have"
+            + " the dimensions of the front.");
+        }
+        if (dominates(point)) {
+            return false;
+        }
+        int start = 0;
+        while (start < values.size() && values.get(start)[0] > point[0]) {
+            start++;
+        }
+        int kept = start;
+        for (int i = start; i < values.size(); i++) {
+            if (!dominates(point, values.get(i))) {
+                values.set(kept, values.get(i));
+                combos.set(kept, combos.get(i));
+                kept++;
+            }
+        }
+        while (values.size() > kept) {
+            values.remove(values.size() - 1);
+            combos.remove(combos.size() - 1);
+        }
+        int position = start;
+        while (position < values.size()
+                && values.get(position)[0] >= point[0]) {
+            position++;
+        }
+        values.add(position, point);
+        combos.add(position, combo);
+        return true;
+    }
+
+    /**
+     * Test if one point dominates another
+     * @param a one point
+     * @param b the other point
+     * @return true if a is at least as good as b everywhere and better in
+     * some dimension
+     */
+    private boolean dominates(double[] a, double[] b) {
+        boolean better = false;
+        for (int d = 0; d < dimensions; d++) {
+            if (a[d] < b[d]) {
+                return false;
+            }
+            better |= a[d] > b[d];
+        }
+        return better;
+    }
+}
@@ -0,0 +1,154 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+public class ParetoSearch {
+    private static final double EPSILON = 1e-9;
+
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private CourseOrder courseOrder;
+    private ComboObjective[] objectives;
+    private int[] order;
+    private ComboState state;
+    private ParetoFront front;
+    private double[][] values;
+    private long nodes;
+
+    /**
+     * Constructor
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @param courseOrder the order to visit the courses in
+     * @param objectives the scores to trade off, higher is better for each
+     * @throws IllegalArgumentException if no objective is given
+     */
+    public ParetoSearch(List<Course> courses, ConflictTable table,
+                        ScoreTable scores, CourseOrder courseOrder,
+                        ComboObjective[] objectives) {
+        if (objectives == null || objectives.length == 0) {
+            throw new IllegalArgumentException("At least one objective is"
+            + " needed for a Pareto front.");
+        }
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.courseOrder = courseOrder;
+        this.objectives = objectives;
+    }
+
+    /**
+     * Find all combos no other combo beats in every objective; the front is
+     * kept up to date during the search and a branch is cut as soon as the
+     * bounds of its partial combo are dominated by a combo on the front
+     * @return the non-dominated combos, by their scores in the order of the
+     * objectives, best first, then by section indices; their objective
+     * values are their scores in the order of the objectives
+     */
+    public List<CourseCombo> search() {
+        int n = courses.size();
+        front = new ParetoFront(objectives.length);
+        nodes = 0;
+        order = courseOrder.initialOrder(table);
+        state = new ComboState(courses, table, scores);
+        searchHelper(0, new int[n], table.newDomains());
+
+        List<Integer> ranks = new ArrayList<>();
+        for (int i = 0; i < front.size(); i++) {
+            ranks.add(i);
+        }
+        Collections.sort(ranks, new Comparator<Integer>() {
+            @Override
+            public int compare(Integer i1, Integer i2) {
+                double[] v1 = front.getValues(i1);
+                double[] v2 = front.getValues(i2);
+                for (int d = 0; d < v1.length; d++) {
+                    if (v1[d] != v2[d]) {
+                        return v1[d] > v2[d] ? -1 : 1;
+                    }
+                }
+                int[] c1 = front.getCombo(i1);
+                int[] c2 = front.getCombo(i2);
+                for (int i = 0; i < c1.length; i++) {
+                    if (c1[i] != c2[i]) {
+                        return c1[i] < c2[i] ? -1 : 1;
+                    }
+                }
+                return 0;
+            }
+        });
+        List<CourseCombo> combos = new ArrayList<>(ranks.size());
+        values = new double[ranks.size()][];
+        for (int i = 0; i < ranks.size(); i++) {
+            int[] indices = front.getCombo(ranks.get(i));
+            values[i] = front.getValues(ranks.get(i));
+            combos.add(new CourseCombo(indices, scores.getAverage(indices),
+                    Arrays.copyOf(values[i], values[i].length)));
+        }
+        return combos;
+    }
+
+    /**
+     * Give the scores of a combo found by the last search
+     * @param rank the position of the combo in the list returned
+     * @return the score by every objective
+     */
+    public double[] getValues(int rank) {
+        return Arrays.copyOf(values[rank], values[rank].length);
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried during the last search
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Back-tracing, cutting branches whose bounds are dominated
+     * @param currDepth the number of courses chosen so far
+     * @param currCombo the combo workspace, indexed by course
+     * @param domains the remaining compatible sections at every depth
+     */
+    private void searchHelper(int currDepth, int[] currCombo,
+                              long[][][] domains) {
+        if (currDepth == courses.size()) {
+            double[] point = new double[objectives.length];
+            for (int d = 0; d < point.length; d++) {
+                point[d] = objectives[d].evaluate(state);
+            }
+            front.add(point, Arrays.copyOf(currCombo, currCombo.length));
+            return;
+        }
+        courseOrder.chooseNext(domains[currDepth], order, currDepth);
+        int course = order[currDepth];
+        long[] current = domains[currDepth][course];
+        double[] bounds = new double[objectives.length];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                state.push(course, unique);
+                // the slack keeps rounding from cutting combos that tie
+                // with the front
+                for (int d = 0; d < bounds.length; d++) {
+                    bounds[d] = objectives[d].bound(state) + EPSILON;
+                }
+                if (!front.dominates(bounds)
+                        && table.narrow(course, unique, domains[currDepth],
+                        domains[currDepth + 1], order, currDepth + 1)) {
+                    currCombo[course] = table.getSectionIndex(course, unique);
+                    searchHelper(currDepth + 1, currCombo, domains);
+                }
+                state.pop();
+            }
+        }
+    }
+}
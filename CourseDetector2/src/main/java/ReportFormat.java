@@ -0,0 +1,5 @@
+public enum ReportFormat {
+    TEXT,
+    CSV,
+    JSON_LINES
+}
@@ -1,15 +1,24 @@
+import java.io.BufferedReader;
 import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileReader;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Predicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public class Schedule {
     private List<Course> courses;
     private boolean countNullAverage;
+    private ConflictTable conflictTable;
+    private CourseOrder courseOrder;
+    private long lastNodeCount;
+    private IncrementalSolver incrementalSolver;
 
     /**
      * The standard constructor for a schedule giving all courses taking
@@ -18,19 +27,49 @@ public class Schedule {
      * @param importances the importances of corresponding courses
      */
     public Schedule(String[] titles, String[] fileNames) {
+        this(titles, fileNames, new CourseLoader());
+    }
+
+    /**
+     * Constructor for a schedule whose courses are built concurrently by a
+     * loader, e.g. one with another concurrency limit or timeout
+     * @param titles the titles of the courses
+     * @param fileNames the file names to the html files of the courses taking
+     * @param loader the loader to build the courses with
+     * @throws IllegalArgumentException if the arrays are null, empty or of
+     * different length, the loader is null, or any course fails to load
+     */
+    public Schedule(String[] titles, String[] fileNames, CourseLoader loader) {
         if (fileNames == null || fileNames.length == 0 || titles == null
         || titles.length == 0 || !(titles.length == fileNames.length)) {
             throw new IllegalArgumentException("Given array of file names for"
             + " the course titles/files/importance is null or contains 0 files"
             + " or are of different length");
         }
-
-        courses = new ArrayList<>();
-        for (int i = 0; i < titles.length; i++) {
-            courses.add(new Course(titles[i], fileNames[i]));
+        if (loader == null) {
+            throw new IllegalArgumentException("Given loader is null.");
         }
 
+        courses = new ArrayList<>(loader.load(titles, fileNames));
+
+        countNullAverage = false;
+        courseOrder = CourseOrder.GIVEN;
+    }
+
+    /**
+     * Constructor for a schedule of courses built already, e.g. from a
+     * snapshot or synthetic data
+     * @param courses the courses taking, in the order of their titles
+     * @throws IllegalArgumentException if the list is null or empty
+     */
+    public Schedule(List<Course> courses) {
+        if (courses == null || courses.size() == 0) {
+            throw new IllegalArgumentException("Given list of courses is null"
+            + " or contains 0 courses");
+        }
+        this.courses = new ArrayList<>(courses);
         countNullAverage = false;
+        courseOrder = CourseOrder.GIVEN;
     }
 
     /**
@@ -41,6 +80,28 @@ public class Schedule {
         countNullAverage = flag;
     }
 
+    /**
+     * a setter for the order in which searches visit the courses; combos
+     * always list their sections in the order of the titles
+     * @param order the course order, CourseOrder.GIVEN by default
+     */
+    public void setCourseOrder(CourseOrder order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Given course order is null.");
+        }
+        courseOrder = order;
+    }
+
+    /**
+     * getter for lastNodeCount
+     * @return the number of sections tried by the last call to
+     * getAllSectionCombos(), its parallel version, either getTopCombos(),
+     * getParetoCombos(), getSubsetCombos() or countSectionCombos()
+     */
+    public long getLastNodeCount() {
+        return lastNodeCount;
+    }
+
     /**
      * getter for number of courses
      * @return number of courses
@@ -58,6 +119,71 @@ public class Schedule {
         return courses.get(index);
     }
 
+    /**
+     * Write a snapshot of all courses with all of their sections, so that
+     * loadSnapshot() can build the schedule again without parsing html or
+     * fetching GPA information
+     * @param fileName the file to write
+     * @throws IllegalArgumentException if the file cannot be written
+     */
+    public void saveSnapshot(String fileName) {
+        CatalogSnapshot.write(courses, fileName);
+    }
+
+    /**
+     * Build a schedule from a snapshot written by saveSnapshot()
+     * @param fileName the file of the snapshot
+     * @return the schedule, with no sections filtered out
+     * @throws IllegalArgumentException if the snapshot cannot be read
+     */
+    public static Schedule loadSnapshot(String fileName) {
+        return new Schedule(CatalogSnapshot.read(fileName));
+    }
+
+    /**
+     * Build a schedule from a snapshot written by saveSnapshot(), only if it
+     * holds the courses of the titles and is up to date with their pages
+     * @param fileName the file of the snapshot
+     * @param titles the titles of the courses, in their order
+     * @param fileNames the file names to the html files of the courses
+     * @return the schedule, with no sections filtered out
+     * @throws IllegalArgumentException if the arrays are null or of
+     * different length, or the snapshot is older than a page, holds other
+     * courses or cannot be read; the message tells which
+     */
+    public static Schedule loadSnapshot(String fileName, String[] titles,
+                                        String[] fileNames) {
+        if (titles == null || fileNames == null
+                || titles.length != fileNames.length) {
+            throw new IllegalArgumentException("Given arrays of titles and"
+            + " file names are null or of different length.");
+        }
+        Schedule schedule = new Schedule(CatalogSnapshot.read(fileName,
+                fileNames));
+        if (!schedule.hasTitles(titles)) {
+            throw new IllegalArgumentException("Given snapshot " + fileName
+            + " holds other courses than the given titles.");
+        }
+        return schedule;
+    }
+
+    /**
+     * Check if the courses are the ones of some titles, in their order
+     * @param titles the titles
+     * @return true if they are
+     */
+    public boolean hasTitles(String[] titles) {
+        if (titles == null || titles.length != courses.size()) {
+            return false;
+        }
+        for (int i = 0; i < titles.length; i++) {
+            if (!courses.get(i).getTitle().equals(titles[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * filter an indexed course's all sections
      * @param index the index of the course we apply the filter
@@ -67,50 +193,330 @@ public class Schedule {
         courses.get(index).filterSections(predicate);
     }
 
+    /**
+     * filter an indexed course's sections with a compiled filter
+     * @param index the index of the course we apply the filter
+     * @param filter the filter, see SectionFilter.parse()
+     */
+    public void filter(int index, SectionFilter filter) {
+        courses.get(index).filterSections(filter);
+    }
+
+    /**
+     * filter an indexed course's sections with a filter expression
+     * @param index the index of the course we apply the filter
+     * @param filter the filter, e.g. "section not in (GR, UG) and open"
+     * @throws IllegalArgumentException if the filter is malformed
+     */
+    public void filter(int index, String filter) {
+        filter(index, SectionFilter.parse(filter));
+    }
+
+    /**
+     * Apply the filters of a configuration file, one line per filter in the
+     * form "TITLE: filter", e.g. "CS2340: section not in (GR)"; blank lines
+     * and lines starting with # are skipped, and a course with several
+     * lines gets all of them
+     * @param fileName the path of the configuration file
+     * @throws IllegalArgumentException if the file cannot be read, a line
+     * is malformed or names a course not in the schedule
+     */
+    public void loadFilters(String fileName) {
+        try (BufferedReader reader = new BufferedReader(
+                new FileReader(fileName))) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                line = line.trim();
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+                int colon = line.indexOf(':');
+                int index = colon < 0 ? -1
+                        : indexOf(line.substring(0, colon).trim());
+                if (index < 0) {
+                    throw new IllegalArgumentException("Line " + lineNumber
+                    + " of " + fileName + " does not start with the title of"
+                    + " a course in the schedule.");
+                }
+                filter(index, line.substring(colon + 1));
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Reading " + fileName
+            + " interrupted.");
+        }
+    }
+
+    /**
+     * Find a course by its title
+     * @param title the title
+     * @return the index of the course, -1 if it is not in the schedule
+     */
+    private int indexOf(String title) {
+        for (int i = 0; i < courses.size(); i++) {
+            if (courses.get(i).getTitle().equals(title)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Give the conflict table of all courses, building it on first use and
+     * rebuilding only the courses filtered since then
+     * @return the up-to-date conflict table
+     */
+    public ConflictTable getConflictTable() {
+        if (conflictTable == null) {
+            conflictTable = new ConflictTable(courses);
+        } else {
+            conflictTable.update();
+        }
+        return conflictTable;
+    }
+
+    /**
+     * Resolve the points of all unique sections for a search
+     * @param table the up-to-date conflict table
+     * @return the score table of all courses
+     */
+    private ScoreTable getScoreTable(ConflictTable table) {
+        return new ScoreTable(courses, table, countNullAverage);
+    }
+
     /**
      * Calculate all possible combinations of sections
      * @return a list of all possible combinations
      */
     public List<CourseCombo> getAllSectionCombos() {
-        List<CourseCombo> combos = new ArrayList<>();
-        int[] currCombo = new int[courses.size()];
-        comboHelper(0, currCombo, combos);
+        return getAllSectionComboTable().asList();
+    }
+
+    /**
+     * Calculate all possible combinations of sections into one packed table
+     * instead of one object per combination
+     * @return a table of all possible combinations, in the same order as
+     * getAllSectionCombos()
+     */
+    public ComboTable getAllSectionComboTable() {
+        ConflictTable table = getConflictTable();
+        ComboTask task = new ComboTask(courses, table, getScoreTable(table),
+                courseOrder, false);
+        ComboTable combos = task.compute();
+        lastNodeCount = task.getNodeCount();
         return combos;
     }
 
     /**
-     * Uses back-tracing to find all combinations that do not lead to time
-     * conflict
-     * @param currCourse the index of current course
-     * @param currCombo the combo workspace
-     * @param combos a list of all possible combos
-     */
-    private void comboHelper(int currCourse, int[] currCombo,
-                             List<CourseCombo> combos) {
-        if (currCourse == courses.size()) {
-            combos.add(new CourseCombo(courses,
-                    Arrays.copyOf(currCombo, currCombo.length),
-                    countNullAverage));
-            return;
-        }
-        ArrayList<Integer> currUniqueSectionIndices
-                = courses.get(currCourse).getUniqueSectionIndices();
-        for (int sectionIndex: currUniqueSectionIndices) {
-            boolean conflict = false;
-            for (int i = 0; i < currCourse && !conflict; i++) {
-                Section thisSection
-                        = courses.get(currCourse).getSection(sectionIndex);
-                Section thatSection = courses.get(i).getSection(currCombo[i]);
-                if (thisSection.conflictsWith(thatSection)) {
-                    conflict = true;
-                }
+     * Calculate all possible combinations of sections again after some
+     * courses were filtered, reusing the previous results; after filtering
+     * one course only, its sections are joined with the kept combinations
+     * of the other courses instead of searching the whole tree, unless
+     * those are too many to keep
+     * @return a table of all possible combinations, the same ones as
+     * getAllSectionComboTable() but not necessarily in the same order; the
+     * table is shared with later calls and must not be changed
+     */
+    public ComboTable resolveSectionComboTable() {
+        if (incrementalSolver == null) {
+            incrementalSolver = new IncrementalSolver(courses);
+        }
+        ConflictTable table = getConflictTable();
+        return incrementalSolver.solve(table, getScoreTable(table),
+                countNullAverage);
+    }
+
+    /**
+     * Calculate all possible combinations of sections on the common
+     * fork-join pool
+     * @return a list of all possible combinations, in the same order as
+     * getAllSectionCombos()
+     */
+    public List<CourseCombo> getAllSectionCombosInParallel() {
+        return getAllSectionCombosInParallel(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Calculate all possible combinations of sections on a fork-join pool
+     * @param pool the pool to run the search on
+     * @return a list of all possible combinations, in the same order as
+     * getAllSectionCombos()
+     */
+    public List<CourseCombo> getAllSectionCombosInParallel(ForkJoinPool pool) {
+        ConflictTable table = getConflictTable();
+        ComboTask task = new ComboTask(courses, table, getScoreTable(table),
+                courseOrder, true);
+        ComboTable combos = pool.invoke(task);
+        lastNodeCount = task.getNodeCount();
+        return combos.asList();
+    }
+
+    /**
+     * Find only the best combinations by average GPA, pruning branches that
+     * cannot make it into the best k
+     * @param k the number of combinations wanted
+     * @return at most k combinations, the same as the first k of
+     * getAllSectionCombos() after Collections.sort()
+     */
+    public List<CourseCombo> getTopCombos(int k) {
+        ConflictTable table = getConflictTable();
+        TopComboSearch search = new TopComboSearch(courses, table,
+                getScoreTable(table), courseOrder, k);
+        List<CourseCombo> combos = search.search();
+        lastNodeCount = search.getNodeCount();
+        return combos;
+    }
+
+    /**
+     * Find only the best combinations by another objective, such as idle
+     * minutes or campus days, pruning on the bound of the objective
+     * @param k the number of combinations wanted
+     * @param objective the score to rank combinations by, higher first
+     * @return at most k combinations, best first, ties in the order of
+     * their section indices; the score of each is its only objective value
+     */
+    public List<CourseCombo> getTopCombos(int k, ComboObjective objective) {
+        ConflictTable table = getConflictTable();
+        ObjectiveSearch search = new ObjectiveSearch(courses, table,
+                getScoreTable(table), courseOrder, objective, k);
+        List<CourseCombo> combos = search.search();
+        lastNodeCount = search.getNodeCount();
+        return combos;
+    }
+
+    /**
+     * Find the combinations that trade off average GPA, idle minutes and
+     * open seats best
+     * @return the Pareto front of the three objectives, each combination
+     * with its three scores as objective values
+     */
+    public List<CourseCombo> getParetoCombos() {
+        return getParetoCombos(new ComboObjective[] {
+                ComboObjective.averageGPA(),
+                ComboObjective.idleMinutes(),
+                ComboObjective.openSeats()
+        });
+    }
+
+    /**
+     * Find the combinations no other combination beats in every objective,
+     * cutting partial combinations already dominated during the search
+     * instead of comparing all pairs of combinations afterwards
+     * @param objectives the scores to trade off, higher is better for each
+     * @return the non-dominated combinations, best first by the objectives
+     * in the given order; the objective values of each are its scores in
+     * that order
+     */
+    public List<CourseCombo> getParetoCombos(ComboObjective[] objectives) {
+        ConflictTable table = getConflictTable();
+        ParetoSearch search = new ParetoSearch(courses, table,
+                getScoreTable(table), courseOrder, objectives);
+        List<CourseCombo> combos = search.search();
+        lastNodeCount = search.getNodeCount();
+        return combos;
+    }
+
+    /**
+     * Treat the courses as candidates and find every subset of them within
+     * the credit bounds along with all of its conflict-free combinations
+     * of sections, in one search instead of one per subset
+     * @param minCredit the least credit hours to take
+     * @param maxCredit the most credit hours to take
+     * @return a table of all combos, where the courses not taken have -1
+     * as section index and the average GPA covers the taken courses only
+     */
+    public ComboTable getSubsetCombos(int minCredit, int maxCredit) {
+        ConflictTable table = getConflictTable();
+        SubsetSearch search = new SubsetSearch(courses, table,
+                getScoreTable(table), minCredit, maxCredit);
+        ComboTable combos = search.search();
+        lastNodeCount = search.getNodeCount();
+        return combos;
+    }
+
+    /**
+     * Count all possible combinations of sections and how many of them use
+     * every section, without building the combinations
+     * @return the counter holding the total and the count per section
+     */
+    public ComboCounter countSectionCombos() {
+        ComboCounter counter = new ComboCounter(courses, getConflictTable(),
+                courseOrder);
+        counter.count();
+        lastNodeCount = counter.getNodeCount();
+        return counter;
+    }
+
+    /**
+     * Stream all possible combinations of sections lazily, one back-tracing
+     * step at a time, so that combos can be consumed without holding all of
+     * them in memory; courses must not be filtered while the stream is used
+     * @return a stream of all possible combinations, which splits for
+     * parallel use
+     */
+    public Stream<CourseCombo> streamSectionCombos() {
+        ConflictTable table = getConflictTable();
+        return StreamSupport.stream(new ComboSpliterator(courses, table,
+                getScoreTable(table), courseOrder), false);
+    }
+
+    /**
+     * Open a report of combinations of the courses of this schedule; the
+     * courses must not be filtered until it is closed
+     * @param fileName the path of the report, replaced if it exists
+     * @param format the format of the report
+     * @return the writer, to be closed after writing all combinations
+     */
+    public ComboReportWriter openReport(String fileName, ReportFormat format) {
+        return new ComboReportWriter(courses, fileName, format);
+    }
+
+    /**
+     * Write all possible combinations of sections into a report as the
+     * search finds them, without building the list first; they are in the
+     * order of the search, not sorted by GPA
+     * @param fileName the path of the report, replaced if it exists
+     * @param format the format of the report
+     * @return the number of combinations written
+     * @throws IllegalArgumentException if writing fails
+     */
+    public long writeSectionCombos(String fileName, ReportFormat format) {
+        try (ComboReportWriter writer = openReport(fileName, format)) {
+            writer.writeAll(streamSectionCombos());
+            return writer.getCount();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Writing interrupted.");
+        }
+    }
+
+    /**
+     * Run the enumeration once for every course order and report how many
+     * sections each of them tried, to see how much a reordering saves
+     * against the order of the titles
+     * @return one line per course order with its node count and the
+     * reduction against CourseOrder.GIVEN
+     */
+    public String compareCourseOrders() {
+        CourseOrder previous = courseOrder;
+        StringBuilder builder = new StringBuilder();
+        long given = 0;
+        for (CourseOrder order : CourseOrder.values()) {
+            courseOrder = order;
+            int count = getAllSectionComboTable().size();
+            if (order == CourseOrder.GIVEN) {
+                given = lastNodeCount;
             }
-            if (!conflict) {
-                currCombo[currCourse] = sectionIndex;
-                comboHelper(currCourse + 1, currCombo, combos);
+            builder.append(String.format("%-12s%15d nodes%15d combos",
+                    order, lastNodeCount, count));
+            if (given != 0) {
+                builder.append(String.format("%10.1f%% fewer nodes",
+                        100.0 * (given - lastNodeCount) / given));
             }
-
+            builder.append("\n");
         }
+        courseOrder = previous;
+        return builder.toString();
     }
 
     /**
@@ -165,18 +571,15 @@ public class Schedule {
             predicates[i] = section -> !section.wlFull() || section.isOpen();
         }
         // 特殊的标在下面，顺序和课程titles相同
-        // 例子： predicates[0] = section -> section.getInstructor().equals(myFavorite);
-        predicates[1] = predicates[1].and(section -> !section.getSectionNumber().equals("GR")); // CS2110
-        predicates[2] = predicates[2].and(section -> !section.getSectionNumber().equals("GR")); // CS2340
-        predicates[5] = predicates[5].and(section -> !section.getSectionNumber().equals("UG")); // MATH3670
-        predicates[8] = predicates[8].and(section -> !section.getSectionNumber().equals("B")); // CS4400
-        predicates[12] = predicates[12].and(section -> !section.getSectionNumber().equals("B1")); // CS1100
-        predicates[13] = predicates[13].and(section -> {
-            return !section.getSectionNumber().equals("RBS")
-                    && !section.getSectionNumber().equals("HPW")
-                    && !section.getSectionNumber().equals("HPY")
-                    && !section.getSectionNumber().equals("HPF");
-        }); // APPH1050
+        // 例子： filters[0] = "instructor in (\"Smith, John\") and start >= 09:30";
+        // 写法见 SectionFilter.parse()
+        String[] filters = new String[titles.length];
+        filters[1] = "section not in (GR)"; // CS2110
+        filters[2] = "section not in (GR)"; // CS2340
+        filters[5] = "section not in (UG)"; // MATH3670
+        filters[8] = "section not in (B)"; // CS4400
+        filters[12] = "section not in (B1)"; // CS1100
+        filters[13] = "section not in (RBS, HPW, HPY, HPF)"; // APPH1050
 
         // 生成文件名，不要随便改
         String[] fileNames = new String[titles.length];
@@ -185,9 +588,27 @@ public class Schedule {
         }
 
         // 读取文件，筛选section
-        Schedule schedule = new Schedule(titles, fileNames);
+        // 有同样课程的快照就直接读快照，不再解析html、抓取GPA；否则读取后写快照
+        // 快照比某个html旧、课程不同或读不了时，打印原因并重新读取
+        // GPA信息更新后请删除快照
+        String snapshot = "src/main/resources/output/" + semester + ".snapshot";
+        Schedule schedule = null;
+        if (new File(snapshot).exists()) {
+            try {
+                schedule = Schedule.loadSnapshot(snapshot, titles, fileNames);
+            } catch (IllegalArgumentException e) {
+                System.out.println("Snapshot not used: " + e.getMessage());
+            }
+        }
+        if (schedule == null) {
+            schedule = new Schedule(titles, fileNames);
+            schedule.saveSnapshot(snapshot);
+        }
         for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
             schedule.filter(i, predicates[i]);
+            if (filters[i] != null) {
+                schedule.filter(i, filters[i]);
+            }
         }
 
         // 打印所有课程所有section
@@ -213,23 +634,10 @@ public class Schedule {
 
         // 打印所有组合
         try {
-            BufferedWriter writer = new BufferedWriter(
-                    new FileWriter("src/main/resources/output/course_combo.txt"));
-
-            for (String title : titles) {
-                writer.write(String.format("%-25s", title));
-            }
-            writer.write(String.format("%-25s\n", "Average GPA"));
-
-            for (CourseCombo combo : combos) {
-                for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
-                    writer.write(String.format("%25s", schedule.getCourse(i)
-                            .getAllEquivalentSectionNumbers(
-                                    combo.getCourseIndices()[i])));
-                }
-                writer.write(String.format("%25.4f\n", combo.getAverageGPA()));
-            }
-            writer.write(String.format("Total Combinations: " + combos.size()));
+            ComboReportWriter writer = schedule.openReport(
+                    "src/main/resources/output/course_combo.txt",
+                    ReportFormat.TEXT);
+            writer.writeAll(combos);
             writer.close();
         } catch (IOException e) {
             throw new IllegalArgumentException("Writing interrupted.");
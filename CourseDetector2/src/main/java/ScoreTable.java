@@ -0,0 +1,110 @@
+import java.util.List;
+
+public class ScoreTable {
+    private double[][] points;
+    private double[][] sectionPoints;
+    private double[] maxPoints;
+    private int[] credits;
+    private int totalCredit;
+
+    /**
+     * Resolve the credit weighted GPA of every unique section once, so that a
+     * search only adds up primitive doubles
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param countNullAverage whether to count instructors without GPA
+     *                         information as the course average, or as 0
+     */
+    public ScoreTable(List<Course> courses, ConflictTable table,
+                      boolean countNullAverage) {
+        int n = courses.size();
+        points = new double[n][];
+        sectionPoints = new double[n][];
+        maxPoints = new double[n];
+        credits = new int[n];
+        totalCredit = 0;
+        for (int i = 0; i < n; i++) {
+            Course course = courses.get(i);
+            int credit = course.getCredit();
+            double nullPoints = countNullAverage
+                    ? course.getInstructorPool().getAvgGPA() * credit : 0;
+            points[i] = new double[table.getUniqueCount(i)];
+            int sections = points[i].length == 0 ? 0
+                    : table.getSectionIndex(i, points[i].length - 1) + 1;
+            sectionPoints[i] = new double[sections];
+            for (int u = 0; u < points[i].length; u++) {
+                int sectionIndex = table.getSectionIndex(i, u);
+                double gpa = course.getCatalog().getGPA(
+                        course.getSectionRow(sectionIndex));
+                points[i][u] = !Double.isNaN(gpa) ? gpa * credit : nullPoints;
+                sectionPoints[i][sectionIndex] = points[i][u];
+            }
+            for (double p : points[i]) {
+                maxPoints[i] = Math.max(maxPoints[i], p);
+            }
+            credits[i] = credit;
+            totalCredit += credit;
+        }
+    }
+
+    /**
+     * Give the credit weighted GPA of a unique section
+     * @param course the index of the course
+     * @param unique the position in Course.getUniqueSectionIndices()
+     * @return the GPA times the credit of the course
+     */
+    public double getPoints(int course, int unique) {
+        return points[course][unique];
+    }
+
+    /**
+     * Give the most credit weighted GPA any unique section of a course has
+     * @param course the index of the course
+     * @return the best points of the course, 0 if it has no sections
+     */
+    public double getMaxPoints(int course) {
+        return maxPoints[course];
+    }
+
+    /**
+     * Give the credit hours of a course
+     * @param course the index of the course
+     * @return the credit hours
+     */
+    public int getCredit(int course) {
+        return credits[course];
+    }
+
+    /**
+     * getter for totalCredit
+     * @return the credit hours of all courses
+     */
+    public int getTotalCredit() {
+        return totalCredit;
+    }
+
+    /**
+     * Compute the average GPA of a combo adding up its points in the order of
+     * the courses, which gives the same value whatever order the sections
+     * were chosen in
+     * @param combo the section index chosen for every course, one of those
+     *              given by ConflictTable.getSectionIndex()
+     * @return the average GPA, 0 if there are no credits
+     */
+    public double getAverage(int[] combo) {
+        double sum = 0;
+        for (int i = 0; i < combo.length; i++) {
+            sum += sectionPoints[i][combo[i]];
+        }
+        return getAverage(sum);
+    }
+
+    /**
+     * Turn the credit weighted GPA of a combo into its average GPA
+     * @param points the sum of the points of all chosen sections
+     * @return the average GPA, 0 if there are no credits
+     */
+    public double getAverage(double points) {
+        return totalCredit != 0 ? points / totalCredit : 0;
+    }
+}
@@ -14,6 +14,9 @@ public class Section implements Comparable<Section> {
     private int wlActual;
     private int credit;
     private Double gpa;
+    private WeekMask weekMask;
+    private StringDictionary dictionary;
+    private int instructorId = -1;
 
     /**
      * getter for credit
@@ -53,6 +56,37 @@ public class Section implements Comparable<Section> {
      */
     public void setInstructor(String instructor) {
         this.instructor = instructor;
+        this.instructorId = -1;
+    }
+
+    /**
+     * getter for instructorId
+     * @return the id of the instructor in the dictionary given to encode(),
+     * -1 if the section is not encoded
+     */
+    public int getInstructorId() {
+        return instructorId;
+    }
+
+    /**
+     * Share the strings of this section with the other sections encoded by
+     * the same dictionary; the instructor, status and locations become the
+     * instances kept by the dictionary, and sections encoded by the same
+     * dictionary compare their instructors by id
+     * @param dictionary the dictionary, e.g. the one of the course
+     * @throws IllegalArgumentException if the dictionary is null
+     */
+    public void encode(StringDictionary dictionary) {
+        if (dictionary == null) {
+            throw new IllegalArgumentException("Given dictionary is null.");
+        }
+        this.dictionary = dictionary;
+        this.instructorId = dictionary.id(instructor);
+        this.instructor = dictionary.value(instructorId);
+        this.status = dictionary.intern(status);
+        for (TimeSlot timeSlot : timeSlots) {
+            timeSlot.encode(dictionary);
+        }
     }
 
     /**
@@ -71,6 +105,15 @@ public class Section implements Comparable<Section> {
         this.gpa = gpa;
     }
 
+    /**
+     * Give the seats left to register for
+     * @return capacity minus actual enrollment, 0 if the section is closed
+     * or over its capacity
+     */
+    public int getOpenSeats() {
+        return isOpen() ? Math.max(0, capacity - actual) : 0;
+    }
+
     /**
      * test if the wait list is full
      * @return true if the wait list is full
@@ -110,6 +153,63 @@ public class Section implements Comparable<Section> {
         this.credit = credit;
         this.status = status;
         this.timeSlots = new ArrayList<>();
+        this.weekMask = WeekMask.of(timeSlots);
+    }
+
+    /**
+     * getter for status
+     * @return the status code, "C" if the section is closed
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * getter for capacity
+     * @return capacity of the section
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * getter for actual
+     * @return actual enrollment in the section
+     */
+    public int getActual() {
+        return actual;
+    }
+
+    /**
+     * getter for wlCapacity
+     * @return wait list capacity
+     */
+    public int getWlCapacity() {
+        return wlCapacity;
+    }
+
+    /**
+     * getter for wlActual
+     * @return wait list actual
+     */
+    public int getWlActual() {
+        return wlActual;
+    }
+
+    /**
+     * getter for timeSlots
+     * @return an unmodifiable view of all time slots of this section
+     */
+    public List<TimeSlot> getTimeSlots() {
+        return Collections.unmodifiableList(timeSlots);
+    }
+
+    /**
+     * getter for weekMask
+     * @return the occupancy mask of all time slots of this section
+     */
+    public WeekMask getWeekMask() {
+        return weekMask;
     }
 
     /**
@@ -125,6 +225,21 @@ public class Section implements Comparable<Section> {
                     new TimeSlot(days.substring(i, i + 1), location, time));
         }
         checkInternalConflict();
+        weekMask = WeekMask.of(timeSlots);
+    }
+
+    /**
+     * Add one time slot for the section
+     * @param timeSlot the time slot
+     * @throws IllegalArgumentException if it is null
+     */
+    public void addTimeSlot(TimeSlot timeSlot) {
+        if (timeSlot == null) {
+            throw new IllegalArgumentException("Given time slot is null.");
+        }
+        timeSlots.add(timeSlot);
+        checkInternalConflict();
+        weekMask = WeekMask.of(timeSlots);
     }
 
     /**
@@ -135,7 +250,7 @@ public class Section implements Comparable<Section> {
      * of time and instructor
      */
     public boolean equivalentTo(Section that) {
-        if (that == null || !that.instructor.equals(this.instructor)
+        if (that == null || !sameInstructor(that)
             || that.timeSlots.size() != this.timeSlots.size()
             || this.credit != that.credit) {
             return false;
@@ -155,6 +270,12 @@ public class Section implements Comparable<Section> {
      * @return true if they have conflicts, false otherwise
      */
     public boolean conflictsWith(Section that) {
+        if (!this.weekMask.intersects(that.weekMask)) {
+            return false;
+        }
+        if (this.weekMask.isExact() && that.weekMask.isExact()) {
+            return true;
+        }
         for (TimeSlot thisTime: this.timeSlots) {
             for (TimeSlot thatTime: that.timeSlots) {
                 if (thisTime.overlaps(thatTime)) {
@@ -174,7 +295,13 @@ public class Section implements Comparable<Section> {
      */
     @Override
     public int compareTo(Section that) {
-        int comp = this.instructor.compareTo(that.instructor);
+        int comp;
+        if (encodedAlike(that)) {
+            comp = dictionary.rank(instructorId)
+                    - dictionary.rank(that.instructorId);
+        } else {
+            comp = this.instructor.compareTo(that.instructor);
+        }
         if (comp != 0) {
             return comp;
         }
@@ -217,6 +344,28 @@ public class Section implements Comparable<Section> {
         return !status.equals("C");
     }
 
+    /**
+     * Test if both sections are encoded by the same dictionary
+     * @param that the other section
+     * @return true if their instructor ids can be compared
+     */
+    private boolean encodedAlike(Section that) {
+        return dictionary != null && dictionary == that.dictionary
+                && instructorId >= 0 && that.instructorId >= 0;
+    }
+
+    /**
+     * Test if two sections have the same instructor
+     * @param that the other section
+     * @return true if the instructors are equal
+     */
+    private boolean sameInstructor(Section that) {
+        if (encodedAlike(that)) {
+            return instructorId == that.instructorId;
+        }
+        return that.instructor.equals(this.instructor);
+    }
+
     /**
      * check if the time slots for the course is valid
      * @throws IllegalArgumentException if there is an internal conflict, some
@@ -0,0 +1,536 @@
+import java.util.BitSet;
+import java.util.List;
+
+public class SectionCatalog {
+    /**
+     * the start and end of a section without meeting times
+     */
+    public static final int NO_TIME = -1;
+
+    private int rows;
+    private int slots;
+
+    private String[] crns;
+    private int[] sectionNumbers;
+    private int[] credits;
+    private int[] capacities;
+    private int[] actuals;
+    private int[] wlCapacities;
+    private int[] wlActuals;
+    private int[] instructors;
+    private int[] statuses;
+    private double[] gpas;
+    private int[] starts;
+    private int[] ends;
+    private int[] days;
+    private long[] masks;
+    private boolean[] exact;
+    private int[] slotStarts;
+
+    private int[] slotDays;
+    private int[] slotBegins;
+    private int[] slotEnds;
+    private int[] slotLocations;
+
+    private StringDictionary dictionary;
+
+    /**
+     * Constructor for an empty catalog of a known size
+     * @param dictionary the dictionary to encode strings by
+     * @param rowCount the number of sections
+     * @param slotCount the number of time slots of all sections
+     */
+    private SectionCatalog(StringDictionary dictionary, int rowCount,
+                           int slotCount) {
+        this.dictionary = dictionary;
+        crns = new String[rowCount];
+        sectionNumbers = new int[rowCount];
+        credits = new int[rowCount];
+        capacities = new int[rowCount];
+        actuals = new int[rowCount];
+        wlCapacities = new int[rowCount];
+        wlActuals = new int[rowCount];
+        instructors = new int[rowCount];
+        statuses = new int[rowCount];
+        gpas = new double[rowCount];
+        starts = new int[rowCount];
+        ends = new int[rowCount];
+        days = new int[rowCount];
+        masks = new long[rowCount * WeekMask.WORDS];
+        exact = new boolean[rowCount];
+        slotStarts = new int[rowCount + 1];
+        slotDays = new int[slotCount];
+        slotBegins = new int[slotCount];
+        slotEnds = new int[slotCount];
+        slotLocations = new int[slotCount];
+    }
+
+    /**
+     * Build the columns of the sections of one course. The catalog is a
+     * copy of what the filters read, not of the sections themselves, which
+     * stay with the course.
+     * @param sectionList the sections, in the order of the rows
+     * @param dictionary the dictionary to encode strings by, e.g. the one
+     *                   of the course so that ids agree with its sections
+     * @return the catalog
+     * @throws IllegalArgumentException if given parameters are null
+     */
+    public static SectionCatalog of(List<Section> sectionList,
+                                    StringDictionary dictionary) {
+        if (sectionList == null || dictionary == null) {
+            throw new IllegalArgumentException("Cannot build a catalog of"
+            + " null sections or with a null dictionary.");
+        }
+        int slotCount = 0;
+        for (Section section : sectionList) {
+            slotCount += section.getTimeSlots().size();
+        }
+        SectionCatalog catalog = new SectionCatalog(dictionary,
+                sectionList.size(), slotCount);
+        for (Section section : sectionList) {
+            catalog.addRow(section);
+        }
+        return catalog;
+    }
+
+    /**
+     * Append the columns of a section and its time slots
+     * @param section the section
+     */
+    private void addRow(Section section) {
+        int row = rows++;
+        crns[row] = section.getCrn();
+        sectionNumbers[row] = dictionary.id(section.getSectionNumber());
+        credits[row] = section.getCredit();
+        capacities[row] = section.getCapacity();
+        actuals[row] = section.getActual();
+        wlCapacities[row] = section.getWlCapacity();
+        wlActuals[row] = section.getWlActual();
+        instructors[row] = dictionary.id(section.getInstructor());
+        statuses[row] = dictionary.id(section.getStatus());
+        Double gpa = section.getGPA();
+        gpas[row] = gpa == null ? Double.NaN : gpa;
+        starts[row] = NO_TIME;
+        ends[row] = NO_TIME;
+        for (TimeSlot slot : section.getTimeSlots()) {
+            slotDays[slots] = slot.getWeekDay().ordinal();
+            slotBegins[slots] = slot.getBegin();
+            slotEnds[slots] = slot.getEnd();
+            slotLocations[slots] = dictionary.id(slot.getLocation());
+            slots++;
+            if (starts[row] == NO_TIME || slot.getBegin() < starts[row]) {
+                starts[row] = slot.getBegin();
+            }
+            ends[row] = Math.max(ends[row], slot.getEnd());
+            days[row] |= 1 << slot.getWeekDay().ordinal();
+        }
+        slotStarts[row + 1] = slots;
+
+        long[] words = new long[WeekMask.WORDS];
+        section.getWeekMask().orInto(words);
+        System.arraycopy(words, 0, masks, row * WeekMask.WORDS,
+                WeekMask.WORDS);
+        exact[row] = section.getWeekMask().isExact();
+    }
+
+    /**
+     * getter for the number of rows
+     * @return the number of sections
+     */
+    public int size() {
+        return rows;
+    }
+
+    /**
+     * getter for dictionary
+     * @return the dictionary the strings of the catalog are encoded by
+     */
+    public StringDictionary getDictionary() {
+        return dictionary;
+    }
+
+    /**
+     * Give a set of all rows
+     * @return a new BitSet with a bit for every row
+     */
+    public BitSet all() {
+        BitSet bits = new BitSet(rows);
+        bits.set(0, rows);
+        return bits;
+    }
+
+    /**
+     * Test if the sections of two rows meet at the same time, like
+     * Section.conflictsWith() but on the columns
+     * @param row the row in this catalog
+     * @param that the catalog of the other row, possibly this one
+     * @param thatRow the row in the other catalog
+     * @return true if they conflict
+     */
+    public boolean conflicts(int row, SectionCatalog that, int thatRow) {
+        int offset = row * WeekMask.WORDS;
+        int thatOffset = thatRow * WeekMask.WORDS;
+        boolean intersects = false;
+        for (int w = 0; w < WeekMask.WORDS; w++) {
+            if ((masks[offset + w] & that.masks[thatOffset + w]) != 0) {
+                intersects = true;
+                break;
+            }
+        }
+        if (!intersects) {
+            return false;
+        }
+        if (exact[row] && that.exact[thatRow]) {
+            return true;
+        }
+        for (int k = slotStarts[row]; k < slotStarts[row + 1]; k++) {
+            for (int l = that.slotStarts[thatRow];
+                 l < that.slotStarts[thatRow + 1]; l++) {
+                if (slotDays[k] == that.slotDays[l]
+                        && slotBegins[k] < that.slotEnds[l]
+                        && that.slotBegins[l] < slotEnds[k]) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * getter for an entry of crns
+     * @param row the row
+     * @return the course registration number
+     */
+    public String getCrn(int row) {
+        checkRow(row);
+        return crns[row];
+    }
+
+    /**
+     * Give the section number of a row
+     * @param row the row
+     * @return the section number
+     */
+    public String getSectionNumber(int row) {
+        checkRow(row);
+        return dictionary.value(sectionNumbers[row]);
+    }
+
+    /**
+     * Give the instructor of a row
+     * @param row the row
+     * @return the instructor
+     */
+    public String getInstructor(int row) {
+        checkRow(row);
+        return dictionary.value(instructors[row]);
+    }
+
+    /**
+     * getter for an entry of instructors
+     * @param row the row
+     * @return the id of the instructor in getDictionary()
+     */
+    public int getInstructorId(int row) {
+        checkRow(row);
+        return instructors[row];
+    }
+
+    /**
+     * Give the status of a row
+     * @param row the row
+     * @return the status code, "C" if the section is closed
+     */
+    public String getStatus(int row) {
+        checkRow(row);
+        return dictionary.value(statuses[row]);
+    }
+
+    /**
+     * getter for an entry of credits
+     * @param row the row
+     * @return the credit hours
+     */
+    public int getCredit(int row) {
+        checkRow(row);
+        return credits[row];
+    }
+
+    /**
+     * getter for an entry of capacities
+     * @param row the row
+     * @return the capacity
+     */
+    public int getCapacity(int row) {
+        checkRow(row);
+        return capacities[row];
+    }
+
+    /**
+     * getter for an entry of actuals
+     * @param row the row
+     * @return the actual enrollment
+     */
+    public int getActual(int row) {
+        checkRow(row);
+        return actuals[row];
+    }
+
+    /**
+     * getter for an entry of wlCapacities
+     * @param row the row
+     * @return the wait list capacity
+     */
+    public int getWlCapacity(int row) {
+        checkRow(row);
+        return wlCapacities[row];
+    }
+
+    /**
+     * getter for an entry of wlActuals
+     * @param row the row
+     * @return the wait list actual
+     */
+    public int getWlActual(int row) {
+        checkRow(row);
+        return wlActuals[row];
+    }
+
+    /**
+     * Test if the section of a row is open, as Section.isOpen() does
+     * @param row the row
+     * @return true if its status is not "C"
+     */
+    public boolean isOpen(int row) {
+        return !"C".equals(getStatus(row));
+    }
+
+    /**
+     * Give the seats left, as Section.getOpenSeats() does
+     * @param row the row
+     * @return capacity minus actual enrollment, 0 if the section is closed
+     * or over its capacity
+     */
+    public int getOpenSeats(int row) {
+        return isOpen(row) ? Math.max(0, capacities[row] - actuals[row]) : 0;
+    }
+
+    /**
+     * Give the spots left on the wait list
+     * @param row the row
+     * @return wait list capacity minus actual, negative if over full
+     */
+    public int getWaitlist(int row) {
+        checkRow(row);
+        return wlCapacities[row] - wlActuals[row];
+    }
+
+    /**
+     * getter for an entry of gpas
+     * @param row the row
+     * @return the GPA of the instructor, NaN if unknown
+     */
+    public double getGPA(int row) {
+        checkRow(row);
+        return gpas[row];
+    }
+
+    /**
+     * getter for an entry of starts
+     * @param row the row
+     * @return the minute of the day the earliest meeting begins, NO_TIME
+     * if the section has no meeting times
+     */
+    public int getStart(int row) {
+        checkRow(row);
+        return starts[row];
+    }
+
+    /**
+     * getter for an entry of ends
+     * @param row the row
+     * @return the minute of the day the latest meeting ends, NO_TIME if
+     * the section has no meeting times
+     */
+    public int getEnd(int row) {
+        checkRow(row);
+        return ends[row];
+    }
+
+    /**
+     * getter for an entry of days
+     * @param row the row
+     * @return the days the section meets on, bit WeekDay.ordinal() for each
+     */
+    public int getDays(int row) {
+        checkRow(row);
+        return days[row];
+    }
+
+    /**
+     * Give the first time slot of a row
+     * @param row the row
+     * @return the index of its first slot for the slot getters
+     */
+    public int getFirstSlot(int row) {
+        checkRow(row);
+        return slotStarts[row];
+    }
+
+    /**
+     * Give the end of the time slots of a row
+     * @param row the row
+     * @return the index after its last slot
+     */
+    public int getEndSlot(int row) {
+        checkRow(row);
+        return slotStarts[row + 1];
+    }
+
+    /**
+     * getter for an entry of slotDays
+     * @param slot the index of the slot
+     * @return the WeekDay.ordinal() of the meeting
+     */
+    public int getSlotDay(int slot) {
+        return slotDays[slot];
+    }
+
+    /**
+     * getter for an entry of slotBegins
+     * @param slot the index of the slot
+     * @return the minute of the day the meeting begins
+     */
+    public int getSlotBegin(int slot) {
+        return slotBegins[slot];
+    }
+
+    /**
+     * getter for an entry of slotEnds
+     * @param slot the index of the slot
+     * @return the minute of the day the meeting ends
+     */
+    public int getSlotEnd(int slot) {
+        return slotEnds[slot];
+    }
+
+    /**
+     * Give the location of a slot
+     * @param slot the index of the slot
+     * @return where the meeting is held
+     */
+    public String getSlotLocation(int slot) {
+        return dictionary.value(slotLocations[slot]);
+    }
+
+    /**
+     * Give the rows of some section numbers
+     * @param values the section numbers
+     * @return a new BitSet of the rows having one of them
+     */
+    public BitSet withSectionNumber(List<String> values) {
+        return lookup(sectionNumbers, values);
+    }
+
+    /**
+     * Give the rows of some instructors
+     * @param values the instructors as the pages list them
+     * @return a new BitSet of the rows taught by one of them
+     */
+    public BitSet withInstructor(List<String> values) {
+        return lookup(instructors, values);
+    }
+
+    /**
+     * Give the rows of some statuses
+     * @param values the status codes, e.g. "C" for closed
+     * @return a new BitSet of the rows having one of them
+     */
+    public BitSet withStatus(List<String> values) {
+        return lookup(statuses, values);
+    }
+
+    /**
+     * Give the open rows, as Section.isOpen() tells
+     * @return a new BitSet of the open rows
+     */
+    public BitSet withOpen() {
+        BitSet bits = new BitSet(rows);
+        int closed = dictionary.find("C");
+        for (int row = 0; row < rows; row++) {
+            if (statuses[row] != closed) {
+                bits.set(row);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Give the rows meeting on the given days only; rows without meeting
+     * times are included
+     * @param dayMask the days allowed, bit WeekDay.ordinal() for each
+     * @return a new BitSet of the rows
+     */
+    public BitSet withDaysWithin(int dayMask) {
+        BitSet bits = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if ((days[row] & ~dayMask) == 0) {
+                bits.set(row);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Give the rows not meeting on any of the given days
+     * @param dayMask the days excluded, bit WeekDay.ordinal() for each
+     * @return a new BitSet of the rows
+     */
+    public BitSet withDaysOutside(int dayMask) {
+        BitSet bits = new BitSet(rows);
+        for (int row = 0; row < rows; row++) {
+            if ((days[row] & dayMask) == 0) {
+                bits.set(row);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Find the rows whose id in a column is the id of one of the values
+     * @param column the ids of the rows
+     * @param values the values
+     * @return a new BitSet of the rows
+     */
+    private BitSet lookup(int[] column, List<String> values) {
+        BitSet wanted = new BitSet();
+        for (String value : values) {
+            int id = dictionary.find(value);
+            if (id >= 0) {
+                wanted.set(id);
+            }
+        }
+        BitSet bits = new BitSet(rows);
+        if (wanted.isEmpty()) {
+            return bits;
+        }
+        for (int row = 0; row < rows; row++) {
+            if (wanted.get(column[row])) {
+                bits.set(row);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * Check a row
+     * @param row the row
+     * @throws IllegalArgumentException if it is out of bounds
+     */
+    private void checkRow(int row) {
+        if (row < 0 || row >= rows) {
+            throw new IllegalArgumentException("Given row exceeds the bounds"
+            + " of the catalog.");
+        }
+    }
+}
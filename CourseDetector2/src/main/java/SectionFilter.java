@@ -0,0 +1,575 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+
+public class SectionFilter {
+    private static final String DAY_CHARS = "MTWRF";
+
+    private String text;
+    private Node root;
+
+    /**
+     * Use SectionFilter.parse() to construct a filter
+     * @param text the text of the filter
+     * @param root the compiled expression
+     */
+    private SectionFilter(String text, Node root) {
+        this.text = text;
+        this.root = root;
+    }
+
+    /**
+     * Compile a filter. A filter keeps the sections matching its
+     * expression, made of the conditions below joined by "and", "or",
+     * "not" and parentheses:
+     * <pre>
+     *     section in (A, B1)          section not in (GR, UG)
+     *     instructor in ("Smith, John")
+     *     status in (SR)              open
+     *     seats &gt;= 1                  waitlist &gt; 0
+     *     credit = 3
+     *     start &gt;= 09:30              end &lt;= 17:00
+     *     time within 09:00-17:00
+     *     days in (M, W, F)           days not in (F)
+     *     all
+     * </pre>
+     * seats are the open seats and waitlist the spots left on the wait
+     * list; start and end are the earliest begin and latest end of the
+     * meetings, on a 24-hour clock. Sections without meeting times pass
+     * the time and day conditions.
+     * @param text the filter
+     * @return the compiled filter
+     * @throws IllegalArgumentException if the text is null or malformed
+     */
+    public static SectionFilter parse(String text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Given filter is null.");
+        }
+        Parser parser = new Parser(text);
+        Node root = parser.parseOr();
+        if (parser.peek() != null) {
+            throw parser.error("unexpected " + parser.peek());
+        }
+        return new SectionFilter(text.trim(), root);
+    }
+
+    /**
+     * Give the sections the filter keeps
+     * @param catalog the columns of the sections
+     * @return a new BitSet of the sections kept
+     */
+    public BitSet evaluate(SectionCatalog catalog) {
+        return root.evaluate(catalog);
+    }
+
+    /**
+     * Combine with another filter, keeping the sections both keep
+     * @param that the other filter
+     * @return the combined filter
+     */
+    public SectionFilter and(SectionFilter that) {
+        return new SectionFilter("(" + text + ") and (" + that.text + ")",
+                new Logic(root, that.root, true));
+    }
+
+    /**
+     * Combine with another filter, keeping the sections either keeps
+     * @param that the other filter
+     * @return the combined filter
+     */
+    public SectionFilter or(SectionFilter that) {
+        return new SectionFilter("(" + text + ") or (" + that.text + ")",
+                new Logic(root, that.root, false));
+    }
+
+    /**
+     * Give the filter keeping the sections this one drops
+     * @return the negated filter
+     */
+    public SectionFilter negate() {
+        return new SectionFilter("not (" + text + ")", new Not(root));
+    }
+
+    /**
+     * Overrides the superclass's toString() method
+     * @return the text of the filter
+     */
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    /**
+     * A compiled expression
+     */
+    private interface Node {
+        /**
+         * Give the sections matching the expression
+         * @param catalog the columns of the sections
+         * @return a new BitSet of the matching sections
+         */
+        BitSet evaluate(SectionCatalog catalog);
+    }
+
+    /**
+     * "and" or "or" of two expressions
+     */
+    private static class Logic implements Node {
+        private Node left;
+        private Node right;
+        private boolean and;
+
+        Logic(Node left, Node right, boolean and) {
+            this.left = left;
+            this.right = right;
+            this.and = and;
+        }
+
+        @Override
+        public BitSet evaluate(SectionCatalog catalog) {
+            BitSet bits = left.evaluate(catalog);
+            if (and) {
+                if (!bits.isEmpty()) {
+                    bits.and(right.evaluate(catalog));
+                }
+            } else {
+                bits.or(right.evaluate(catalog));
+            }
+            return bits;
+        }
+    }
+
+    /**
+     * "not" of an expression
+     */
+    private static class Not implements Node {
+        private Node operand;
+
+        Not(Node operand) {
+            this.operand = operand;
+        }
+
+        @Override
+        public BitSet evaluate(SectionCatalog catalog) {
+            BitSet bits = catalog.all();
+            bits.andNot(operand.evaluate(catalog));
+            return bits;
+        }
+    }
+
+    /**
+     * A condition on a string column, a day mask or the open flag
+     */
+    private static class Lookup implements Node {
+        private String field;
+        private List<String> values;
+        private int dayMask;
+
+        Lookup(String field, List<String> values, int dayMask) {
+            this.field = field;
+            this.values = values;
+            this.dayMask = dayMask;
+        }
+
+        @Override
+        public BitSet evaluate(SectionCatalog catalog) {
+            switch (field) {
+                case "section":
+                    return catalog.withSectionNumber(values);
+                case "instructor":
+                    return catalog.withInstructor(values);
+                case "status":
+                    return catalog.withStatus(values);
+                case "days":
+                    return catalog.withDaysWithin(dayMask);
+                case "!days":
+                    return catalog.withDaysOutside(dayMask);
+                case "open":
+                    return catalog.withOpen();
+                default:
+                    return catalog.all();
+            }
+        }
+    }
+
+    /**
+     * A comparison of an int column with a constant
+     */
+    private static class Compare implements Node {
+        private static final List<String> COLUMNS = Arrays.asList(
+                "seats", "waitlist", "credit", "start", "end");
+
+        private int column;
+        private String operator;
+        private int value;
+
+        Compare(String field, String operator, int value) {
+            this.column = COLUMNS.indexOf(field);
+            this.operator = operator;
+            this.value = value;
+        }
+
+        @Override
+        public BitSet evaluate(SectionCatalog catalog) {
+            BitSet bits = new BitSet(catalog.size());
+            for (int i = 0; i < catalog.size(); i++) {
+                int actual;
+                switch (column) {
+                    case 0:
+                        actual = catalog.getOpenSeats(i);
+                        break;
+                    case 1:
+                        actual = catalog.getWaitlist(i);
+                        break;
+                    case 2:
+                        actual = catalog.getCredit(i);
+                        break;
+                    case 3:
+                        actual = catalog.getStart(i);
+                        break;
+                    default:
+                        actual = catalog.getEnd(i);
+                        break;
+                }
+                // sections without meeting times pass time conditions
+                if (column >= 3 && actual == SectionCatalog.NO_TIME
+                        || compare(actual)) {
+                    bits.set(i);
+                }
+            }
+            return bits;
+        }
+
+        /**
+         * Apply the operator
+         * @param actual the value of a section
+         * @return the result of the comparison
+         */
+        private boolean compare(int actual) {
+            switch (operator) {
+                case "<":
+                    return actual < value;
+                case "<=":
+                    return actual <= value;
+                case ">":
+                    return actual > value;
+                case ">=":
+                    return actual >= value;
+                case "=":
+                    return actual == value;
+                default:
+                    return actual != value;
+            }
+        }
+    }
+
+    /**
+     * Recursive descent over the tokens of a filter
+     */
+    private static class Parser {
+        private String text;
+        private List<String> tokens;
+        private int position;
+
+        Parser(String text) {
+            this.text = text;
+            this.tokens = tokenize(text);
+        }
+
+        /**
+         * or := and ("or" and)*
+         * @return the expression
+         */
+        Node parseOr() {
+            Node node = parseAnd();
+            while (keyword("or")) {
+                node = new Logic(node, parseAnd(), false);
+            }
+            return node;
+        }
+
+        /**
+         * and := unary ("and" unary)*
+         * @return the expression
+         */
+        Node parseAnd() {
+            Node node = parseUnary();
+            while (keyword("and")) {
+                node = new Logic(node, parseUnary(), true);
+            }
+            return node;
+        }
+
+        /**
+         * unary := "not" unary | "(" or ")" | condition
+         * @return the expression
+         */
+        Node parseUnary() {
+            if (keyword("not")) {
+                return new Not(parseUnary());
+            }
+            if ("(".equals(peek())) {
+                position++;
+                Node node = parseOr();
+                expect(")");
+                return node;
+            }
+            return parseCondition();
+        }
+
+        /**
+         * Parse one condition
+         * @return the expression
+         */
+        Node parseCondition() {
+            String field = next("a condition").toLowerCase(Locale.ROOT);
+            switch (field) {
+                case "all":
+                    return new Lookup("all", null, 0);
+                case "open":
+                    return new Lookup("open", null, 0);
+                case "section":
+                case "instructor":
+                case "status":
+                    return parseMembership(field);
+                case "days":
+                    return parseDays();
+                case "seats":
+                case "waitlist":
+                case "credit":
+                    return parseComparison(field, false);
+                case "start":
+                case "end":
+                    return parseComparison(field, true);
+                case "time":
+                    if (!keyword("within")) {
+                        throw error("expected within after time");
+                    }
+                    String window = next("a time window");
+                    int dash = window.indexOf('-');
+                    if (dash < 0) {
+                        throw error("expected a window like 09:00-17:00");
+                    }
+                    return new Logic(new Compare("start", ">=",
+                            clock(window.substring(0, dash))),
+                            new Compare("end", "<=",
+                                    clock(window.substring(dash + 1))), true);
+                default:
+                    throw error("unknown condition " + field);
+            }
+        }
+
+        /**
+         * field ["not"] "in" list
+         * @param field the string column
+         * @return the expression
+         */
+        Node parseMembership(String field) {
+            boolean negated = keyword("not");
+            if (!keyword("in")) {
+                throw error("expected in after " + field);
+            }
+            Node node = new Lookup(field, parseList(), 0);
+            return negated ? new Not(node) : node;
+        }
+
+        /**
+         * "days" ["not"] "in" list of day letters
+         * @return the expression
+         */
+        Node parseDays() {
+            boolean negated = keyword("not");
+            if (!keyword("in")) {
+                throw error("expected in after days");
+            }
+            int mask = 0;
+            for (String days : parseList()) {
+                for (int i = 0; i < days.length(); i++) {
+                    int day = DAY_CHARS.indexOf(
+                            Character.toUpperCase(days.charAt(i)));
+                    if (day < 0) {
+                        throw error(days + " is not made of MTWRF");
+                    }
+                    mask |= 1 << day;
+                }
+            }
+            return new Lookup(negated ? "!days" : "days", null, mask);
+        }
+
+        /**
+         * field operator value
+         * @param field the int column
+         * @param time whether the value is a time of day
+         * @return the expression
+         */
+        Node parseComparison(String field, boolean time) {
+            String operator = next("an operator");
+            if (!operator.matches("<=?|>=?|!?=")) {
+                throw error("expected an operator after " + field);
+            }
+            String value = next("a value");
+            if (time) {
+                return new Compare(field, operator, clock(value));
+            }
+            try {
+                return new Compare(field, operator, Integer.parseInt(value));
+            } catch (NumberFormatException e) {
+                throw error(value + " is not a number");
+            }
+        }
+
+        /**
+         * "(" value ("," value)* ")", or a single value
+         * @return the values
+         */
+        List<String> parseList() {
+            List<String> values = new ArrayList<>();
+            if (!"(".equals(peek())) {
+                values.add(unquote(next("a value")));
+                return values;
+            }
+            position++;
+            values.add(unquote(next("a value")));
+            while (",".equals(peek())) {
+                position++;
+                values.add(unquote(next("a value")));
+            }
+            expect(")");
+            return values;
+        }
+
+        /**
+         * Read a time of day like 09:30 or 17:00
+         * @param value the text
+         * @return the minute of the day
+         */
+        int clock(String value) {
+            if (!value.matches("\\d{1,2}:\\d{2}")) {
+                throw error(value + " is not a time like 09:30");
+            }
+            int colon = value.indexOf(':');
+            int hour = Integer.parseInt(value.substring(0, colon));
+            int minute = Integer.parseInt(value.substring(colon + 1));
+            if (hour > 24 || minute > 59) {
+                throw error(value + " is not a time of day");
+            }
+            return hour * 60 + minute;
+        }
+
+        /**
+         * Remove the quotes of a quoted value
+         * @param value the token
+         * @return the value
+         */
+        String unquote(String value) {
+            if (value.startsWith("\"")) {
+                return value.substring(1, value.length() - 1);
+            }
+            return value;
+        }
+
+        /**
+         * Give the next token without consuming it
+         * @return the token, null at the end
+         */
+        String peek() {
+            return position < tokens.size() ? tokens.get(position) : null;
+        }
+
+        /**
+         * Consume the next token
+         * @param expected what is expected, for the error message
+         * @return the token
+         */
+        String next(String expected) {
+            String token = peek();
+            if (token == null || token.equals("(") || token.equals(")")
+                    || token.equals(",")) {
+                throw error("expected " + expected);
+            }
+            position++;
+            return token;
+        }
+
+        /**
+         * Consume a token if it is the given keyword
+         * @param word the keyword
+         * @return true if it was consumed
+         */
+        boolean keyword(String word) {
+            if (word.equalsIgnoreCase(peek())) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * Consume a token that must be there
+         * @param token the token
+         */
+        void expect(String token) {
+            if (!token.equals(peek())) {
+                throw error("expected " + token);
+            }
+            position++;
+        }
+
+        /**
+         * Build the exception for a malformed filter
+         * @param message what is wrong
+         * @return the exception
+         */
+        IllegalArgumentException error(String message) {
+            return new IllegalArgumentException("Malformed filter \"" + text
+            + "\": " + message + ".");
+        }
+
+        /**
+         * Split a filter into words, quoted strings, operators, parentheses
+         * and commas
+         * @param text the filter
+         * @return the tokens
+         */
+        static List<String> tokenize(String text) {
+            List<String> tokens = new ArrayList<>();
+            int i = 0;
+            while (i < text.length()) {
+                char c = text.charAt(i);
+                if (Character.isWhitespace(c)) {
+                    i++;
+                } else if (c == '(' || c == ')' || c == ',') {
+                    tokens.add(String.valueOf(c));
+                    i++;
+                } else if (c == '"') {
+                    int close = text.indexOf('"', i + 1);
+                    if (close < 0) {
+                        throw new IllegalArgumentException("Malformed filter \""
+                        + text + "\": unclosed quote.");
+                    }
+                    tokens.add(text.substring(i, close + 1));
+                    i = close + 1;
+                } else if (c == '<' || c == '>' || c == '=' || c == '!') {
+                    int end = i + 1;
+                    if (end < text.length() && text.charAt(end) == '=') {
+                        end++;
+                    }
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                } else {
+                    int end = i;
+                    while (end < text.length()
+                            && "()\",<>=!".indexOf(text.charAt(end)) < 0
+                            && !Character.isWhitespace(text.charAt(end))) {
+                        end++;
+                    }
+                    tokens.add(text.substring(i, end));
+                    i = end;
+                }
+            }
+            return tokens;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class StringDictionary {
+    private List<String> values;
+    private Map<String, Integer> ids;
+    private int[] ranks;
+
+    /**
+     * Constructor for an empty dictionary
+     */
+    public StringDictionary() {
+        values = new ArrayList<>();
+        ids = new HashMap<>();
+    }
+
+    /**
+     * getter for the size
+     * @return the number of distinct strings
+     */
+    public int size() {
+        return values.size();
+    }
+
+    /**
+     * Give the id of a string, adding it if new; ids are numbered from 0 in
+     * the order strings are first added
+     * @param value the string, null allowed
+     * @return the id
+     */
+    public int id(String value) {
+        Integer id = ids.get(value);
+        if (id == null) {
+            id = values.size();
+            values.add(value);
+            ids.put(value, id);
+            ranks = null;
+        }
+        return id;
+    }
+
+    /**
+     * Give the id of a string without adding it
+     * @param value the string
+     * @return the id, -1 if the string is not in the dictionary
+     */
+    public int find(String value) {
+        Integer id = ids.get(value);
+        return id == null ? -1 : id;
+    }
+
+    /**
+     * Give the string of an id
+     * @param id the id
+     * @return the string, the same instance for every call
+     */
+    public String value(int id) {
+        return values.get(id);
+    }
+
+    /**
+     * Give the one instance of a string kept by the dictionary, adding it
+     * if new, so that equal strings share their storage
+     * @param value the string
+     * @return the instance kept
+     */
+    public String intern(String value) {
+        return values.get(id(value));
+    }
+
+    /**
+     * Give the position of a string in the sorted order of all strings of
+     * the dictionary; comparing ranks is comparing the strings with
+     * String.compareTo(). The ranks are sorted out again after strings are
+     * added.
+     * @param id the id of the string
+     * @return the rank, from 0
+     */
+    public int rank(int id) {
+        if (ranks == null) {
+            Integer[] order = new Integer[values.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, new Comparator<Integer>() {
+                @Override
+                public int compare(Integer i1, Integer i2) {
+                    String s1 = values.get(i1);
+                    String s2 = values.get(i2);
+                    if (s1 == null || s2 == null) {
+                        return s1 == null ? (s2 == null ? 0 : -1) : 1;
+                    }
+                    return s1.compareTo(s2);
+                }
+            });
+            int[] sorted = new int[order.length];
+            for (int r = 0; r < order.length; r++) {
+                sorted[order[r]] = r;
+            }
+            ranks = sorted;
+        }
+        return ranks[id];
+    }
+}
@@ -0,0 +1,156 @@
+import java.util.List;
+
+public class SubsetSearch {
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private int minCredit;
+    private int maxCredit;
+    private ComboTable combos;
+    private long nodes;
+
+    /**
+     * Constructor
+     * @param courses the candidate courses
+     * @param table the up-to-date conflict table of the candidates
+     * @param scores the points of every unique section of the candidates
+     * @param minCredit the least credit hours a subset may have
+     * @param maxCredit the most credit hours a subset may have
+     * @throws IllegalArgumentException if minCredit is not positive or
+     * greater than maxCredit
+     */
+    public SubsetSearch(List<Course> courses, ConflictTable table,
+                        ScoreTable scores, int minCredit, int maxCredit) {
+        if (minCredit <= 0 || minCredit > maxCredit) {
+            throw new IllegalArgumentException("The credit bounds must be"
+            + " positive and the minimum cannot exceed the maximum.");
+        }
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.minCredit = minCredit;
+        this.maxCredit = maxCredit;
+    }
+
+    /**
+     * Find every subset of the candidates within the credit bounds together
+     * with every conflict-free choice of sections for it, in one search
+     * over the shared conflict table; each course is either skipped or
+     * given a section, and a branch is cut as soon as the courses that
+     * still have a compatible section cannot reach the least credit hours
+     * @return a table of all combos, with -1 as the section index of the
+     * skipped courses and the average GPA taken over the chosen courses
+     * only; ordered by section indices, skipped first
+     */
+    public ComboTable search() {
+        int n = courses.size();
+        int maxIndex = 0;
+        int available = 0;
+        for (int i = 0; i < n; i++) {
+            int count = table.getUniqueCount(i);
+            if (count > 0) {
+                maxIndex = Math.max(maxIndex,
+                        table.getSectionIndex(i, count - 1));
+                available += scores.getCredit(i);
+            }
+        }
+        combos = new ComboTable(n, maxIndex);
+        nodes = 0;
+        searchHelper(0, 0, new int[n], 0, 0, available, table.newDomains());
+        return combos;
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried during the last search
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Back-tracing over the candidates in order, deciding for each one to
+     * skip it or which section to take
+     * @param course the index of the course to decide on
+     * @param level the number of courses taken so far, which is the depth
+     *              of the domains narrowed by them
+     * @param currCombo the combo workspace, indexed by course
+     * @param credit the credit hours of the courses taken so far
+     * @param points the credit weighted GPA of the sections taken so far
+     * @param available the credit hours of the courses not decided yet that
+     *                  still have a compatible section
+     * @param domains the remaining compatible sections at every level
+     */
+    private void searchHelper(int course, int level, int[] currCombo,
+                              int credit, double points, int available,
+                              long[][][] domains) {
+        if (course == courses.size()) {
+            if (credit >= minCredit) {
+                combos.add(currCombo, points / credit);
+            }
+            return;
+        }
+        long[] current = domains[level][course];
+        int courseCredit = scores.getCredit(course);
+        boolean open = false;
+        for (long word : current) {
+            open |= word != 0;
+        }
+        int rest = open ? available - courseCredit : available;
+
+        currCombo[course] = -1;
+        if (credit + rest >= minCredit) {
+            searchHelper(course + 1, level, currCombo, credit, points, rest,
+                    domains);
+        }
+        if (!open || credit + courseCredit > maxCredit) {
+            return;
+        }
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                int nextAvailable = narrow(course, unique, domains[level],
+                        domains[level + 1]);
+                if (credit + courseCredit + nextAvailable >= minCredit) {
+                    currCombo[course] = table.getSectionIndex(course, unique);
+                    searchHelper(course + 1, level + 1, currCombo,
+                            credit + courseCredit,
+                            points + scores.getPoints(course, unique),
+                            nextAvailable, domains);
+                }
+            }
+        }
+    }
+
+    /**
+     * Narrow the domains of the courses after a taken one; unlike
+     * ConflictTable.narrow() an empty domain does not end the branch, as
+     * that course can still be skipped
+     * @param course the index of the course the section is taken for
+     * @param unique the taken unique section position
+     * @param from the domains before the choice
+     * @param to the domains after the choice
+     * @return the credit hours of the later courses with a compatible
+     * section left
+     */
+    private int narrow(int course, int unique, long[][] from, long[][] to) {
+        int available = 0;
+        for (int j = course + 1; j < courses.size(); j++) {
+            long[] row = table.getCompatible(course, unique, j);
+            long[] source = from[j];
+            long[] target = to[j];
+            long any = 0;
+            for (int w = 0; w < target.length; w++) {
+                target[w] = source[w] & row[w];
+                any |= target[w];
+            }
+            if (any != 0) {
+                available += scores.getCredit(j);
+            }
+        }
+        return available;
+    }
+}
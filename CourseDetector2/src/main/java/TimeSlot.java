@@ -184,6 +184,47 @@ public class TimeSlot implements Comparable<TimeSlot> {
         }
     }
 
+    /**
+     * getter for begin
+     * @return the starting time in absolute minutes
+     */
+    public int getBegin() {
+        return begin;
+    }
+
+    /**
+     * getter for end
+     * @return the ending time in absolute minutes
+     */
+    public int getEnd() {
+        return end;
+    }
+
+    /**
+     * getter for location
+     * @return where the time slot is held
+     */
+    public String getLocation() {
+        return location;
+    }
+
+    /**
+     * Replace the location by the instance a dictionary keeps, so that time
+     * slots at the same place share it
+     * @param dictionary the dictionary
+     */
+    public void encode(StringDictionary dictionary) {
+        location = dictionary.intern(location);
+    }
+
+    /**
+     * getter for weekDay
+     * @return the week day of the time slot
+     */
+    public WeekDay getWeekDay() {
+        return weekDay;
+    }
+
     /**
      *
      * Calculate the length of the time slot instance
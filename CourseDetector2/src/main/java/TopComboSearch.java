@@ -0,0 +1,173 @@
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+public class TopComboSearch {
+    private static final double EPSILON = 1e-9;
+
+    private List<Course> courses;
+    private ConflictTable table;
+    private ScoreTable scores;
+    private CourseOrder courseOrder;
+    private int[] order;
+    private int k;
+    private PriorityQueue<CourseCombo> best;
+    private Comparator<CourseCombo> ranking;
+    private long nodes;
+
+    /**
+     * Constructor
+     * @param courses the courses in the schedule
+     * @param table the up-to-date conflict table of the courses
+     * @param scores the points of every unique section of the courses
+     * @param courseOrder the order to visit the courses in
+     * @param k the number of combos to keep
+     * @throws IllegalArgumentException if k is not positive
+     */
+    public TopComboSearch(List<Course> courses, ConflictTable table,
+                          ScoreTable scores, CourseOrder courseOrder,
+                          int k) {
+        if (k <= 0) {
+            throw new IllegalArgumentException("The number of combos to keep"
+            + " must be positive.");
+        }
+        this.courses = courses;
+        this.table = table;
+        this.scores = scores;
+        this.courseOrder = courseOrder;
+        this.k = k;
+        // best first: higher GPA, then the combo found earlier by
+        // back-tracing, which is the lexicographically smaller one
+        this.ranking = new Comparator<CourseCombo>() {
+            @Override
+            public int compare(CourseCombo c1, CourseCombo c2) {
+                int comp = c1.compareTo(c2);
+                if (comp != 0) {
+                    return comp;
+                }
+                return compareIndices(c1.getCourseIndices(),
+                        c2.getCourseIndices());
+            }
+        };
+    }
+
+    /**
+     * Find the best k combos by average GPA, pruning every branch whose
+     * optimistic average cannot beat the k-th best combo found so far
+     * @return at most k combos, in the order Collections.sort() would put
+     * them at the head of getAllSectionCombos()
+     */
+    public List<CourseCombo> search() {
+        int n = courses.size();
+        double bestPoints = 0;
+        for (int i = 0; i < n; i++) {
+            bestPoints += scores.getMaxPoints(i);
+        }
+        best = new PriorityQueue<>(k + 1, Collections.reverseOrder(ranking));
+        nodes = 0;
+        order = courseOrder.initialOrder(table);
+        searchHelper(0, new int[n], 0, bestPoints, table.newDomains());
+
+        List<CourseCombo> combos = new ArrayList<>(best);
+        Collections.sort(combos, ranking);
+        return combos;
+    }
+
+    /**
+     * getter for nodes
+     * @return the number of sections tried during the last search
+     */
+    public long getNodeCount() {
+        return nodes;
+    }
+
+    /**
+     * Back-tracing with branch-and-bound
+     * @param currDepth the number of courses chosen so far
+     * @param currCombo the combo workspace, indexed by course
+     * @param points the credit weighted GPA of the sections chosen so far
+     * @param bestPoints the sum of the best points of the courses not
+     *                   chosen yet
+     * @param domains the remaining compatible sections at every depth
+     */
+    private void searchHelper(int currDepth, int[] currCombo, double points,
+                              double bestPoints, long[][][] domains) {
+        if (currDepth == courses.size()) {
+            offer(currCombo, points);
+            return;
+        }
+        courseOrder.chooseNext(domains[currDepth], order, currDepth);
+        int course = order[currDepth];
+        double restPoints = bestPoints - scores.getMaxPoints(course);
+        long[] current = domains[currDepth][course];
+        for (int w = 0; w < current.length; w++) {
+            long bits = current[w];
+            while (bits != 0) {
+                int unique = (w << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                nodes++;
+                double nextPoints = points + scores.getPoints(course, unique);
+                if (cannotEnter(nextPoints + restPoints)) {
+                    continue;
+                }
+                if (table.narrow(course, unique, domains[currDepth],
+                        domains[currDepth + 1], order, currDepth + 1)) {
+                    currCombo[course] = table.getSectionIndex(course, unique);
+                    searchHelper(currDepth + 1, currCombo, nextPoints,
+                            restPoints, domains);
+                }
+            }
+        }
+    }
+
+    /**
+     * Keep a complete combo if it is among the best k so far
+     * @param currCombo the section indices of the combo
+     * @param points the credit weighted GPA of the combo
+     */
+    private void offer(int[] currCombo, double points) {
+        if (cannotEnter(points)) {
+            return;
+        }
+        CourseCombo combo = new CourseCombo(
+                Arrays.copyOf(currCombo, currCombo.length),
+                scores.getAverage(currCombo));
+        if (best.size() < k) {
+            best.add(combo);
+        } else if (ranking.compare(combo, best.peek()) < 0) {
+            best.poll();
+            best.add(combo);
+        }
+    }
+
+    /**
+     * Test if combos reaching at most the given points can be skipped
+     * @param points an upper bound of the credit weighted GPA
+     * @return true if the best k are found and all beat the given points
+     */
+    private boolean cannotEnter(double points) {
+        if (best.size() < k) {
+            return false;
+        }
+        return scores.getAverage(points) + EPSILON
+                < best.peek().getAverageGPA();
+    }
+
+    /**
+     * Compare two combos by their section indices lexicographically
+     * @param a the indices of one combo
+     * @param b the indices of the other combo
+     * @return negative if a comes first
+     */
+    private static int compareIndices(int[] a, int[] b) {
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != b[i]) {
+                return a[i] < b[i] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+}
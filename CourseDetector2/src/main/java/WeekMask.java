@@ -0,0 +1,103 @@
+import java.util.List;
+
+public class WeekMask {
+    public static final int SLOT_MINUTES = 5;
+    public static final int FIRST_MINUTE = 7 * 60;
+    public static final int LAST_MINUTE = 23 * 60;
+    private static final int SLOTS_PER_DAY
+            = (LAST_MINUTE - FIRST_MINUTE) / SLOT_MINUTES;
+    private static final int WORDS_PER_DAY = (SLOTS_PER_DAY + 63) / 64;
+    public static final int WORDS = WeekDay.values().length * WORDS_PER_DAY;
+
+    private long[] words;
+    private boolean exact;
+
+    /**
+     * Use WeekMask.of() to construct a mask
+     */
+    private WeekMask() {
+    }
+
+    /**
+     * Build the occupancy mask of a list of time slots. Every WeekDay gets
+     * WORDS_PER_DAY longs covering FIRST_MINUTE to LAST_MINUTE, one bit per
+     * SLOT_MINUTES minutes. Slots not aligned to SLOT_MINUTES are rounded
+     * outwards and a slot outside the covered window marks its whole day, so
+     * the mask always covers at least the minutes taken by the slots.
+     * @param timeSlots the time slots to encode
+     * @return the mask of the given time slots
+     * @throws IllegalArgumentException if given time slots are null
+     */
+    public static WeekMask of(List<TimeSlot> timeSlots) {
+        if (timeSlots == null) {
+            throw new IllegalArgumentException("Given time slots are null.");
+        }
+        WeekMask mask = new WeekMask();
+        mask.words = new long[WORDS];
+        mask.exact = true;
+        for (TimeSlot timeSlot : timeSlots) {
+            int base = timeSlot.getWeekDay().ordinal() * WORDS_PER_DAY;
+            int begin = timeSlot.getBegin();
+            int end = timeSlot.getEnd();
+            if (begin < FIRST_MINUTE || end > LAST_MINUTE) {
+                for (int i = 0; i < WORDS_PER_DAY; i++) {
+                    mask.words[base + i] = -1L;
+                }
+                mask.exact = false;
+                continue;
+            }
+            if (begin % SLOT_MINUTES != 0 || end % SLOT_MINUTES != 0) {
+                mask.exact = false;
+            }
+            int first = (begin - FIRST_MINUTE) / SLOT_MINUTES;
+            int last = (end - FIRST_MINUTE + SLOT_MINUTES - 1) / SLOT_MINUTES;
+            for (int slot = first; slot < last; slot++) {
+                mask.words[base + slot / 64] |= 1L << (slot % 64);
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Test if the mask describes the occupied minutes exactly, i.e. when two
+     * exact masks intersect, their time slots really overlap
+     * @return true if the mask is exact, false if it is only an over-estimate
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    /**
+     * Test if this mask shares any slot with the other mask
+     * @param that the other mask
+     * @return true if they intersect; false means the time slots behind both
+     * masks surely do not overlap
+     */
+    public boolean intersects(WeekMask that) {
+        return intersects(that.words);
+    }
+
+    /**
+     * Test if this mask shares any slot with a running mask
+     * @param running an array of WORDS longs, e.g. built by orInto()
+     * @return true if they intersect
+     */
+    public boolean intersects(long[] running) {
+        for (int i = 0; i < WORDS; i++) {
+            if ((words[i] & running[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Add all slots of this mask to a running mask
+     * @param running an array of WORDS longs to be updated
+     */
+    public void orInto(long[] running) {
+        for (int i = 0; i < WORDS; i++) {
+            running[i] |= words[i];
+        }
+    }
+}
@@ -0,0 +1,137 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that generated catalogs read back from their pages unchanged and
+ * that their time slots conflict as the week masks say
+ */
+public class CatalogGeneratorTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void pagesParseBackToTheSections() throws IOException {
+        for (long seed : SEEDS) {
+            for (double offGridRate : new double[] {0, 0.5}) {
+                CatalogGenerator generator = new CatalogGenerator(seed);
+                generator.setCourseCount(6);
+                generator.setSectionsPerCourse(20);
+                generator.setSecondMeetingRate(0.3);
+                generator.setOffGridRate(offGridRate);
+                List<Course> courses = generator.generate();
+                List<String> paths = CatalogGenerator.writeCatalog(courses,
+                        folder.newFolder().getPath());
+                for (int i = 0; i < courses.size(); i++) {
+                    List<String> expected = new ArrayList<>();
+                    for (int j = 0; j < courses.get(i).getNumberOfSections();
+                         j++) {
+                        expected.add(key(courses.get(i).getSection(j)));
+                    }
+                    Collections.sort(expected);
+                    String message = seed + " " + offGridRate + " "
+                            + paths.get(i);
+                    assertEquals(message, expected, keys(
+                            new HtmlParser().parseCourse(paths.get(i))));
+                    assertEquals(message, expected, keys(
+                            CatalogLoader.load(paths.get(i))));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void conflictsOffTheGridMatchTheTimeSlots() {
+        for (long seed : SEEDS) {
+            CatalogGenerator generator = new CatalogGenerator(seed);
+            generator.setCourseCount(5);
+            generator.setSectionsPerCourse(12);
+            generator.setSecondMeetingRate(0.3);
+            generator.setOffGridRate(0.8);
+            Schedule schedule = new Schedule(generator.generate());
+            ConflictTable table = schedule.getConflictTable();
+            boolean inexact = false;
+            for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+                for (int u = 0; u < table.getUniqueCount(i); u++) {
+                    Section section = schedule.getCourse(i).getSection(
+                            table.getSectionIndex(i, u));
+                    inexact |= !section.getWeekMask().isExact();
+                    for (int j = 0; j < schedule.getNumberOfCourses(); j++) {
+                        if (j == i) {
+                            continue;
+                        }
+                        for (int v = 0; v < table.getUniqueCount(j); v++) {
+                            Section other = schedule.getCourse(j).getSection(
+                                    table.getSectionIndex(j, v));
+                            assertEquals(seed + " " + section.getCrn() + " "
+                                    + other.getCrn(), !overlap(section, other),
+                                    table.isCompatible(i, u, j, v));
+                        }
+                    }
+                }
+            }
+            assertTrue(seed + " has no inexact week mask", inexact);
+        }
+    }
+
+    /**
+     * Test two sections for a time conflict one time slot at a time,
+     * without week masks
+     * @param section one section
+     * @param other the other section
+     * @return true if any of their time slots overlap
+     */
+    private static boolean overlap(Section section, Section other) {
+        for (TimeSlot slot : section.getTimeSlots()) {
+            for (TimeSlot otherSlot : other.getTimeSlots()) {
+                if (slot.overlaps(otherSlot)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Give every field of some sections that a page holds
+     * @param sections the sections
+     * @return one line per section, sorted
+     */
+    private static List<String> keys(List<Section> sections) {
+        List<String> keys = new ArrayList<>();
+        for (Section section : sections) {
+            keys.add(key(section));
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Give every field of a section that a page holds
+     * @param section the section
+     * @return the fields in one line, time slots sorted
+     */
+    private static String key(Section section) {
+        List<String> slots = new ArrayList<>();
+        for (TimeSlot slot : section.getTimeSlots()) {
+            slots.add(slot.getWeekDay() + " " + slot.getBegin() + "-"
+                    + slot.getEnd() + " " + slot.getLocation());
+        }
+        Collections.sort(slots);
+        return section.getCrn() + "|" + section.getSectionNumber() + "|"
+                + section.getCredit() + "|" + section.getCapacity() + "|"
+                + section.getActual() + "|" + section.getWlCapacity() + "|"
+                + section.getWlActual() + "|" + section.getInstructor() + "|"
+                + section.getStatus() + "|" + slots;
+    }
+}
@@ -0,0 +1,240 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Checks that snapshots give back the schedule they were written from and
+ * that damaged or stale snapshots are rejected
+ */
+public class CatalogSnapshotTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void snapshotGivesBackTheSchedule() throws IOException {
+        for (long seed = 1; seed <= 3; seed++) {
+            List<Course> courses = generate(seed);
+            Schedule schedule = new Schedule(courses);
+            // filtered sections are written all the same
+            schedule.filter(0, "section not in (A, B)");
+            String path = folder.newFile().getPath();
+            schedule.saveSnapshot(path);
+            Schedule loaded = Schedule.loadSnapshot(path);
+
+            assertEquals(schedule.getNumberOfCourses(),
+                    loaded.getNumberOfCourses());
+            for (int i = 0; i < courses.size(); i++) {
+                Course expected = courses.get(i);
+                Course actual = loaded.getCourse(i);
+                assertEquals(expected.getTitle(), actual.getTitle());
+                assertEquals(expected.getInstructorPool().getAvgGPA(),
+                        actual.getInstructorPool().getAvgGPA(), 0);
+                assertEquals(expected.getInstructorPool().getInstructorGPAs(),
+                        actual.getInstructorPool().getInstructorGPAs());
+                assertEquals(keys(expected.getAllSections()),
+                        keys(actual.getAllSections()));
+            }
+
+            Schedule fresh = new Schedule(generate(seed));
+            for (boolean countNullAverage : new boolean[] {false, true}) {
+                fresh.setCountNullAverage(countNullAverage);
+                loaded.setCountNullAverage(countNullAverage);
+                List<CourseCombo> expected = fresh.getAllSectionCombos();
+                List<CourseCombo> actual = loaded.getAllSectionCombos();
+                assertEquals(expected.size(), actual.size());
+                for (int i = 0; i < expected.size(); i++) {
+                    assertTrue(seed + " at " + i, Arrays.equals(
+                            expected.get(i).getCourseIndices(),
+                            actual.get(i).getCourseIndices()));
+                    assertEquals(seed + " at " + i,
+                            expected.get(i).getAverageGPA(),
+                            actual.get(i).getAverageGPA(), 0);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void flippedByteFailsTheChecksum() throws IOException {
+        String path = snapshot();
+        long length = new File(path).length();
+        for (long position : new long[] {16, length / 2, length - 1}) {
+            byte[] bytes = Files.readAllBytes(new File(path).toPath());
+            String copy = folder.newFile().getPath();
+            bytes[(int) position] ^= 0x10;
+            Files.write(new File(copy).toPath(), bytes);
+            assertRejected(copy, "fails its checksum");
+        }
+    }
+
+    @Test
+    public void otherVersionsAreRejected() throws IOException {
+        String path = snapshot();
+        overwriteInt(path, 4, 2);
+        assertRejected(path, "schema version 2");
+    }
+
+    @Test
+    public void otherFilesAreRejected() throws IOException {
+        String path = snapshot();
+        overwriteInt(path, 0, 0x3c68746d);
+        assertRejected(path, "is not a catalog snapshot");
+        String empty = folder.newFile().getPath();
+        assertRejected(empty, "is not a catalog snapshot");
+        assertRejected(new File(folder.getRoot(), "missing").getPath(),
+                "does not exist");
+    }
+
+    @Test
+    public void truncatedSnapshotsAreRejected() throws IOException {
+        String path = snapshot();
+        long length = new File(path).length();
+        for (long kept : new long[] {length - 1, length / 2, 20}) {
+            byte[] bytes = Files.readAllBytes(new File(path).toPath());
+            String copy = folder.newFile().getPath();
+            Files.write(new File(copy).toPath(),
+                    Arrays.copyOf(bytes, (int) kept));
+            assertRejected(copy, "is truncated");
+        }
+    }
+
+    @Test
+    public void newerPagesRejectTheSnapshot() throws IOException {
+        String path = snapshot();
+        File page = folder.newFile("CS2340.html");
+        File other = folder.newFile("CS1332.html");
+        String missing = new File(folder.getRoot(), "MATH3012.html")
+                .getPath();
+        long written = new File(path).lastModified();
+        assertTrue(page.setLastModified(written - 60000));
+        assertTrue(other.setLastModified(written - 60000));
+        String[] sources = {page.getPath(), other.getPath(), missing};
+        assertEquals(3, CatalogSnapshot.read(path, sources).size());
+
+        assertTrue(other.setLastModified(written + 60000));
+        try {
+            CatalogSnapshot.read(path, sources);
+            fail("a stale snapshot was read");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(
+                    "is older than its page " + other.getPath()));
+        }
+    }
+
+    @Test
+    public void snapshotsOfOtherCoursesAreRejected() throws IOException {
+        String path = snapshot();
+        List<Course> courses = CatalogSnapshot.read(path);
+        String[] titles = new String[courses.size()];
+        String[] fileNames = new String[courses.size()];
+        for (int i = 0; i < titles.length; i++) {
+            titles[i] = courses.get(i).getTitle();
+            fileNames[i] = new File(folder.getRoot(), titles[i] + ".html")
+                    .getPath();
+        }
+        assertEquals(titles.length, Schedule.loadSnapshot(path, titles,
+                fileNames).getNumberOfCourses());
+        String[] swapped = titles.clone();
+        swapped[0] = titles[1];
+        swapped[1] = titles[0];
+        try {
+            Schedule.loadSnapshot(path, swapped, fileNames);
+            fail("a snapshot of other courses was used");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(
+                    "holds other courses than the given titles"));
+        }
+    }
+
+    /**
+     * Write a snapshot of a generated catalog of three courses
+     * @return the path of the snapshot
+     * @throws IOException if the file cannot be created
+     */
+    private String snapshot() throws IOException {
+        String path = folder.newFile().getPath();
+        CatalogSnapshot.write(generate(1), path);
+        return path;
+    }
+
+    /**
+     * Replace an int of a file
+     * @param path the file
+     * @param position the offset of the int
+     * @param value the new value
+     * @throws IOException if the file cannot be written
+     */
+    private static void overwriteInt(String path, long position, int value)
+            throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(path, "rw")) {
+            file.seek(position);
+            file.writeInt(value);
+        }
+    }
+
+    /**
+     * Assert a snapshot cannot be read
+     * @param path the file of the snapshot
+     * @param reason a part of the expected message
+     */
+    private static void assertRejected(String path, String reason) {
+        try {
+            CatalogSnapshot.read(path);
+            fail(path + " was read");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains(reason));
+        }
+    }
+
+    /**
+     * Give every field of some sections, their GPA included
+     * @param sections the sections
+     * @return one line per section, in order
+     */
+    private static List<String> keys(List<Section> sections) {
+        List<String> keys = new ArrayList<>();
+        for (Section section : sections) {
+            List<String> slots = new ArrayList<>();
+            for (TimeSlot slot : section.getTimeSlots()) {
+                slots.add(slot.getWeekDay() + " " + slot.getBegin() + "-"
+                        + slot.getEnd() + " " + slot.getLocation());
+            }
+            Collections.sort(slots);
+            keys.add(section.getCrn() + "|" + section.getSectionNumber()
+                    + "|" + section.getCredit() + "|" + section.getCapacity()
+                    + "|" + section.getActual() + "|"
+                    + section.getWlCapacity() + "|" + section.getWlActual()
+                    + "|" + section.getInstructor() + "|"
+                    + section.getStatus() + "|" + section.getGPA() + "|"
+                    + slots);
+        }
+        return keys;
+    }
+
+    /**
+     * Generate a catalog small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the courses
+     */
+    private static List<Course> generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(3);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        generator.setOffGridRate(0.3);
+        return generator.generate();
+    }
+}
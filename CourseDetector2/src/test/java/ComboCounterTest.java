@@ -0,0 +1,70 @@
+import static org.junit.Assert.assertEquals;
+
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the counts of combos and of their sections against listing every
+ * combo of seeded generated catalogs
+ */
+public class ComboCounterTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void countsMatchTheCombos() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<CourseCombo> combos = schedule.getAllSectionCombos();
+            ConflictTable table = schedule.getConflictTable();
+            for (CourseOrder order : CourseOrder.values()) {
+                schedule.setCourseOrder(order);
+                ComboCounter counter = schedule.countSectionCombos();
+                assertEquals(seed + " " + order, combos.size(),
+                        counter.getTotal());
+                for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+                    long[] uses = new long[table.getUniqueCount(i)];
+                    for (CourseCombo combo : combos) {
+                        uses[table.getUniquePosition(i,
+                                combo.getCourseIndex(i))]++;
+                    }
+                    for (int unique = 0; unique < uses.length; unique++) {
+                        String message = seed + " " + order + " " + i
+                                + " at " + unique;
+                        assertEquals(message, uses[unique],
+                                counter.getParticipation(i, unique));
+                        assertEquals(message, uses[unique],
+                                counter.getSectionParticipation(i,
+                                        table.getSectionIndex(i, unique)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void courseWithoutSectionsCountsNoCombos() {
+        Schedule schedule = generate(1);
+        schedule.filter(2, section -> false);
+        assertEquals(0, schedule.getAllSectionCombos().size());
+        ComboCounter counter = schedule.countSectionCombos();
+        assertEquals(0, counter.getTotal());
+        for (int unique = 0; unique < schedule.getConflictTable()
+                .getUniqueCount(0); unique++) {
+            assertEquals(0, counter.getParticipation(0, unique));
+        }
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}
@@ -0,0 +1,125 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Checks the streamed combos of a schedule, split or not, against the plain
+ * back-tracing of getAllSectionCombos(), on seeded generated catalogs
+ */
+public class ComboSpliteratorTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void streamKeepsTheOrderUntilSplit() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            for (CourseOrder order : CourseOrder.values()) {
+                schedule.setCourseOrder(order);
+                List<CourseCombo> expected = schedule.getAllSectionCombos();
+                assertSame(seed + " " + order, expected, schedule
+                        .streamSectionCombos().collect(Collectors.toList()));
+                assertEquals(seed + " " + order, sortedKeys(expected),
+                        sortedKeys(schedule.streamSectionCombos().parallel()
+                                .collect(Collectors.toList())));
+            }
+        }
+    }
+
+    @Test
+    public void splitSpliteratorsCoverTheOrder() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            for (CourseOrder order : CourseOrder.values()) {
+                schedule.setCourseOrder(order);
+                List<CourseCombo> expected = schedule.getAllSectionCombos();
+                List<CourseCombo> combos = new ArrayList<>();
+                walk(schedule.streamSectionCombos().spliterator(),
+                        new Random(seed), combos);
+                assertSame(seed + " " + order, expected, combos);
+            }
+        }
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+
+    /**
+     * Take a spliterator apart at random points, splitting what is left
+     * and consuming both halves in their encounter order
+     * @param spliterator the spliterator
+     * @param random where to stop and whether to split
+     * @param combos the combos consumed, in order
+     */
+    private static void walk(Spliterator<CourseCombo> spliterator,
+                             Random random, List<CourseCombo> combos) {
+        int steps = random.nextInt(50);
+        for (int i = 0; i < steps; i++) {
+            if (!spliterator.tryAdvance(combos::add)) {
+                return;
+            }
+        }
+        Spliterator<CourseCombo> split = random.nextInt(4) == 0 ? null
+                : spliterator.trySplit();
+        if (split == null) {
+            spliterator.forEachRemaining(combos::add);
+            return;
+        }
+        List<CourseCombo> rest = new ArrayList<>();
+        walk(spliterator, random, combos);
+        walk(split, random, rest);
+        combos.addAll(rest);
+    }
+
+    /**
+     * Assert two lists hold the same combos in the same order
+     * @param message the message of a failure
+     * @param expected the expected combos
+     * @param actual the combos found
+     */
+    private static void assertSame(String message,
+                                   List<CourseCombo> expected,
+                                   List<CourseCombo> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(message + " at " + i, Arrays.equals(
+                    expected.get(i).getCourseIndices(),
+                    actual.get(i).getCourseIndices()));
+            assertEquals(message + " at " + i,
+                    expected.get(i).getAverageGPA(),
+                    actual.get(i).getAverageGPA(), 1e-9);
+        }
+    }
+
+    /**
+     * Give the section indices of some combos in a comparable form
+     * @param combos the combos
+     * @return the section indices of every combo, sorted
+     */
+    private static List<String> sortedKeys(List<CourseCombo> combos) {
+        List<String> keys = new ArrayList<>(combos.size());
+        for (CourseCombo combo : combos) {
+            keys.add(Arrays.toString(combo.getCourseIndices()));
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+}
@@ -0,0 +1,94 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the packed combo table and the views of its rows on seeded
+ * generated catalogs
+ */
+public class ComboTableTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void viewsKeepTheirAverageWhenSorted() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            ComboTable table = schedule.getAllSectionComboTable();
+            List<CourseCombo> views = table.asList();
+            List<int[]> before = new ArrayList<>();
+            for (CourseCombo view : views) {
+                before.add(view.getCourseIndices());
+            }
+            CourseCombo last = table.getCombo(table.size() - 1);
+            table.sort();
+            boolean moved = false;
+            for (int row = 0; row < views.size(); row++) {
+                CourseCombo view = views.get(row);
+                moved |= !Arrays.equals(before.get(row),
+                        view.getCourseIndices());
+                assertEquals(seed + " at " + row,
+                        averageGPA(schedule, view.getCourseIndices()),
+                        view.getAverageGPA(), 1e-9);
+                if (row > 0) {
+                    assertTrue(seed + " at " + row,
+                            views.get(row - 1).compareTo(view) <= 0);
+                }
+            }
+            assertEquals(seed + "", averageGPA(schedule,
+                    last.getCourseIndices()), last.getAverageGPA(), 1e-9);
+            assertTrue(seed + " did not move any row", moved);
+        }
+    }
+
+    @Test
+    public void sortMatchesCollectionsSortInTheGivenOrder() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<CourseCombo> expected = schedule.getAllSectionCombos();
+            Collections.sort(expected);
+            ComboTable table = schedule.getAllSectionComboTable();
+            table.sort();
+            assertEquals(seed + "", expected.size(), table.size());
+            for (int row = 0; row < table.size(); row++) {
+                assertTrue(seed + " at " + row, Arrays.equals(
+                        expected.get(row).getCourseIndices(),
+                        table.getCourseIndices(row)));
+            }
+        }
+    }
+
+    /**
+     * Compute the average GPA of a combo from its courses
+     * @param schedule the schedule of the combo
+     * @param indices the section index chosen for every course
+     * @return the credit weighted average GPA
+     */
+    private static double averageGPA(Schedule schedule, int[] indices) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+            courses.add(schedule.getCourse(i));
+        }
+        return new CourseCombo(courses, indices, true).getAverageGPA();
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        Schedule schedule = new Schedule(generator.generate());
+        schedule.setCountNullAverage(true);
+        return schedule;
+    }
+}
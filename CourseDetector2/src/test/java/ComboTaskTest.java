@@ -0,0 +1,96 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * Checks the fork-join search of combos against the plain back-tracing of
+ * getAllSectionCombos(), on seeded generated catalogs
+ */
+public class ComboTaskTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    private static ForkJoinPool pool;
+
+    @BeforeClass
+    public static void startPool() {
+        // more workers than the machine may have, so that tasks really split
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterClass
+    public static void stopPool() {
+        pool.shutdown();
+    }
+
+    @Test
+    public void parallelSearchKeepsTheOrder() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed, 5, 8);
+            for (CourseOrder order : CourseOrder.values()) {
+                schedule.setCourseOrder(order);
+                List<CourseCombo> expected = schedule.getAllSectionCombos();
+                assertSame(seed + " " + order, expected,
+                        schedule.getAllSectionCombosInParallel(pool));
+            }
+        }
+    }
+
+    @Test
+    public void deeperSplitsKeepTheOrderAndAverages() {
+        // enough combos below the first course for the subtasks to split
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed, 6, 10);
+            for (boolean countNullAverage : new boolean[] {false, true}) {
+                schedule.setCountNullAverage(countNullAverage);
+                List<CourseCombo> expected = schedule.getAllSectionCombos();
+                assertSame(seed + " " + countNullAverage, expected,
+                        schedule.getAllSectionCombosInParallel(pool));
+                assertSame(seed + " " + countNullAverage, expected,
+                        schedule.getAllSectionCombosInParallel());
+            }
+        }
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @param courseCount the number of courses
+     * @param sectionsPerCourse the number of sections of every course
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed, int courseCount,
+                                     int sectionsPerCourse) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(courseCount);
+        generator.setSectionsPerCourse(sectionsPerCourse);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+
+    /**
+     * Assert two lists hold the same combos in the same order
+     * @param message the message of a failure
+     * @param expected the expected combos
+     * @param actual the combos found
+     */
+    private static void assertSame(String message,
+                                   List<CourseCombo> expected,
+                                   List<CourseCombo> actual) {
+        assertEquals(message, expected.size(), actual.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertTrue(message + " at " + i, Arrays.equals(
+                    expected.get(i).getCourseIndices(),
+                    actual.get(i).getCourseIndices()));
+            assertEquals(message + " at " + i,
+                    expected.get(i).getAverageGPA(),
+                    actual.get(i).getAverageGPA(), 1e-9);
+        }
+    }
+}
@@ -0,0 +1,215 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+/**
+ * Checks the order, concurrency limit, timeouts and failures of loading
+ * courses, with generated courses built in place of fetched ones
+ */
+public class CourseLoaderTest {
+    private static final int COURSE_COUNT = 9;
+
+    @Test
+    public void coursesKeepTheOrderOfTheTitles() {
+        final Map<String, Course> generated = generate();
+        final String[] titles = generated.keySet().toArray(new String[0]);
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            final Random random = new Random(titles.length);
+            final int[] delays = new int[titles.length];
+            for (int i = 0; i < delays.length; i++) {
+                // later titles tend to finish first
+                delays[i] = 5 * (delays.length - i) + random.nextInt(10);
+            }
+            CourseLoader loader = new CourseLoader() {
+                @Override
+                protected Course build(String title, String fileName) {
+                    sleep(delays[Integer.parseInt(fileName)]);
+                    return generated.get(title);
+                }
+            };
+            loader.setVirtualThreads(virtualThreads);
+            List<Course> courses = loader.load(titles, fileNames());
+            assertEquals(titles.length, courses.size());
+            for (int i = 0; i < titles.length; i++) {
+                assertTrue(virtualThreads + " at " + i,
+                        generated.get(titles[i]) == courses.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void noMoreThanTheLimitAreBuiltAtATime() {
+        final Map<String, Course> generated = generate();
+        // every course waits for two others, so three must run together
+        final CyclicBarrier barrier = new CyclicBarrier(3);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger most = new AtomicInteger();
+        CourseLoader loader = new CourseLoader() {
+            @Override
+            protected Course build(String title, String fileName) {
+                most.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    barrier.await(5, TimeUnit.SECONDS);
+                    sleep(20);
+                    return generated.get(title);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                } finally {
+                    running.decrementAndGet();
+                }
+            }
+        };
+        loader.setConcurrency(3);
+        loader.setVirtualThreads(false);
+        assertEquals(COURSE_COUNT, loader.load(generated.keySet()
+                .toArray(new String[0]), fileNames()).size());
+        assertEquals(3, most.get());
+    }
+
+    @Test
+    public void slowCoursesTimeOut() {
+        final Map<String, Course> generated = generate();
+        String[] titles = generated.keySet().toArray(new String[0]);
+        final String slow = titles[4];
+        CourseLoader loader = new CourseLoader() {
+            @Override
+            protected Course build(String title, String fileName) {
+                sleep(title.equals(slow) ? 10000 : 10);
+                return generated.get(title);
+            }
+        };
+        loader.setTimeout(200, TimeUnit.MILLISECONDS);
+        loader.setVirtualThreads(false);
+        long start = System.nanoTime();
+        try {
+            loader.load(titles, fileNames());
+            fail("a slow course was waited for");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Fail to load 1 of " + COURSE_COUNT + " courses: "
+                    + slow + " (Took longer than 200 ms.)", e.getMessage());
+            assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        assertTrue(System.nanoTime() - start
+                < TimeUnit.SECONDS.toNanos(5));
+    }
+
+    @Test
+    public void waitingForAPermitDoesNotTimeOut() {
+        final Map<String, Course> generated = generate();
+        CourseLoader loader = new CourseLoader() {
+            @Override
+            protected Course build(String title, String fileName) {
+                sleep(50);
+                return generated.get(title);
+            }
+        };
+        // one at a time, the last course starts long after the timeout
+        loader.setConcurrency(1);
+        loader.setTimeout(200, TimeUnit.MILLISECONDS);
+        loader.setVirtualThreads(false);
+        assertEquals(COURSE_COUNT, loader.load(generated.keySet()
+                .toArray(new String[0]), fileNames()).size());
+    }
+
+    @Test
+    public void failuresAreListedTogether() {
+        final Map<String, Course> generated = generate();
+        String[] titles = generated.keySet().toArray(new String[0]);
+        CourseLoader loader = new CourseLoader() {
+            @Override
+            protected Course build(String title, String fileName) {
+                int index = Integer.parseInt(fileName);
+                if (index % 4 == 1) {
+                    // the later failure is done first
+                    sleep(index == 1 ? 100 : 0);
+                    throw new IllegalArgumentException("No page " + index);
+                }
+                return generated.get(title);
+            }
+        };
+        loader.setVirtualThreads(false);
+        try {
+            loader.load(titles, fileNames());
+            fail("failed courses were not reported");
+        } catch (IllegalArgumentException e) {
+            assertEquals("Fail to load 2 of " + COURSE_COUNT + " courses: "
+                    + titles[1] + " (No page 1); " + titles[5]
+                    + " (No page 5)", e.getMessage());
+            assertEquals("No page 1", e.getCause().getMessage());
+            assertEquals(1, e.getCause().getSuppressed().length);
+            assertEquals("No page 5",
+                    e.getCause().getSuppressed()[0].getMessage());
+        }
+    }
+
+    @Test
+    public void badArgumentsAreRejected() {
+        CourseLoader loader = new CourseLoader();
+        Runnable[] calls = {
+            () -> loader.load(null, new String[0]),
+            () -> loader.load(new String[0], null),
+            () -> loader.load(new String[1], new String[2]),
+            () -> loader.setConcurrency(0),
+            () -> loader.setTimeout(0, TimeUnit.SECONDS),
+            () -> loader.setTimeout(1, null)
+        };
+        for (int i = 0; i < calls.length; i++) {
+            try {
+                calls[i].run();
+                fail(i + " was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Sleep, giving up quietly when interrupted as a timed out course is
+     * @param millis the milliseconds to sleep
+     */
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Give the file names of the courses, which are their indices
+     * @return the file names
+     */
+    private static String[] fileNames() {
+        String[] fileNames = new String[COURSE_COUNT];
+        for (int i = 0; i < fileNames.length; i++) {
+            fileNames[i] = String.valueOf(i);
+        }
+        return fileNames;
+    }
+
+    /**
+     * Generate the courses to build in place of fetched ones
+     * @return the courses by title, in generation order
+     */
+    private static Map<String, Course> generate() {
+        CatalogGenerator generator = new CatalogGenerator(1);
+        generator.setCourseCount(COURSE_COUNT);
+        generator.setSectionsPerCourse(4);
+        Map<String, Course> courses = new LinkedHashMap<>();
+        for (Course course : generator.generate()) {
+            courses.put(course.getTitle(), course);
+        }
+        return courses;
+    }
+}
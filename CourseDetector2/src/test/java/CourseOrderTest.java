@@ -0,0 +1,86 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks that every course order finds the combos of the given order, on
+ * seeded generated catalogs
+ */
+public class CourseOrderTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void courseOrdersFindTheSameCombos() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<String> expected = sortedKeys(
+                    schedule.getAllSectionCombos());
+            for (CourseOrder order : CourseOrder.values()) {
+                schedule.setCourseOrder(order);
+                assertEquals(seed + " " + order, expected,
+                        sortedKeys(schedule.getAllSectionCombos()));
+            }
+        }
+    }
+
+    @Test
+    public void failFirstStartsWithTheFewestSections() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            ConflictTable table = schedule.getConflictTable();
+            int n = table.getNumberOfCourses();
+            int[] given = CourseOrder.GIVEN.initialOrder(table);
+            for (int i = 0; i < n; i++) {
+                assertEquals(seed + "", i, given[i]);
+            }
+            for (CourseOrder order : new CourseOrder[] {
+                    CourseOrder.FAIL_FIRST, CourseOrder.DYNAMIC}) {
+                int[] visited = order.initialOrder(table);
+                int[] sorted = visited.clone();
+                Arrays.sort(sorted);
+                assertTrue(seed + " " + order, Arrays.equals(given, sorted));
+                for (int i = 1; i < n; i++) {
+                    int previous = table.getUniqueCount(visited[i - 1]);
+                    int current = table.getUniqueCount(visited[i]);
+                    // ties keep the given order
+                    assertTrue(seed + " " + order + " at " + i,
+                            previous < current || previous == current
+                                    && visited[i - 1] < visited[i]);
+                }
+            }
+        }
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+
+    /**
+     * Give the section indices of some combos in a comparable form
+     * @param combos the combos
+     * @return the section indices of every combo, sorted
+     */
+    private static List<String> sortedKeys(List<CourseCombo> combos) {
+        List<String> keys = new ArrayList<>(combos.size());
+        for (CourseCombo combo : combos) {
+            keys.add(Arrays.toString(combo.getCourseIndices()));
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+}
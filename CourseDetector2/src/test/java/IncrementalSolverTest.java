@@ -0,0 +1,174 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+/**
+ * Checks the combos re-solved after filtering one course against a fresh
+ * search, on seeded generated catalogs
+ */
+public class IncrementalSolverTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void resolvingAfterFilteringMatchesASearch() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            assertEquals(sortedKeys(schedule.getAllSectionCombos()),
+                    sortedKeys(schedule.resolveSectionComboTable().asList()));
+            for (int round = 0; round < 3; round++) {
+                schedule.filter(1, dropping(round));
+                assertEquals(seed + " " + round,
+                        sortedKeys(schedule.getAllSectionCombos()),
+                        sortedKeys(schedule.resolveSectionComboTable()
+                                .asList()));
+            }
+        }
+    }
+
+    @Test
+    public void onlyOneFilteredCourseIsSolvedIncrementally() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<Course> courses = new ArrayList<>();
+            for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+                courses.add(schedule.getCourse(i));
+            }
+            IncrementalSolver solver = new IncrementalSolver(courses);
+            ComboTable first = solve(solver, schedule, courses, false);
+            assertFalse(seed + "", solver.isLastIncremental());
+            assertTrue(seed + "", first == solve(solver, schedule, courses,
+                    false));
+
+            schedule.filter(1, dropping(0));
+            check(seed + " one", schedule, solve(solver, schedule, courses,
+                    false));
+            assertTrue(seed + " one", solver.isLastIncremental());
+            schedule.filter(1, dropping(1));
+            check(seed + " again", schedule, solve(solver, schedule,
+                    courses, false));
+            assertTrue(seed + " again", solver.isLastIncremental());
+            schedule.filter(3, dropping(2));
+            check(seed + " another", schedule, solve(solver, schedule,
+                    courses, false));
+            assertTrue(seed + " another", solver.isLastIncremental());
+
+            schedule.filter(0, dropping(0));
+            schedule.filter(2, dropping(0));
+            check(seed + " two", schedule, solve(solver, schedule, courses,
+                    false));
+            assertFalse(seed + " two", solver.isLastIncremental());
+            schedule.setCountNullAverage(true);
+            check(seed + " flag", schedule, solve(solver, schedule, courses,
+                    true));
+            assertFalse(seed + " flag", solver.isLastIncremental());
+        }
+    }
+
+    @Test
+    public void resolvingTooManyToKeepFallsBackToASearch() {
+        // the other courses have more combos than the solver keeps
+        CatalogGenerator generator = new CatalogGenerator(3);
+        generator.setCourseCount(8);
+        generator.setSectionsPerCourse(12);
+        generator.setSecondMeetingRate(0.3);
+        Schedule schedule = new Schedule(generator.generate());
+        schedule.resolveSectionComboTable();
+        schedule.filter(2, dropping(0));
+        assertEquals(schedule.countSectionCombos().getTotal(),
+                schedule.resolveSectionComboTable().size());
+    }
+
+    /**
+     * Solve the combos of a schedule with its current filters
+     * @param solver the solver
+     * @param schedule the schedule
+     * @param courses the courses of the schedule
+     * @param countNullAverage whether sections without GPA count the
+     * course average
+     * @return the table of all combos
+     */
+    private static ComboTable solve(IncrementalSolver solver,
+                                    Schedule schedule, List<Course> courses,
+                                    boolean countNullAverage) {
+        ConflictTable table = schedule.getConflictTable();
+        return solver.solve(table, new ScoreTable(courses, table,
+                countNullAverage), countNullAverage);
+    }
+
+    /**
+     * Assert a table holds the combos of a fresh search, with their averages
+     * @param message the message of a failure
+     * @param schedule the schedule
+     * @param table the table solved
+     */
+    private static void check(String message, Schedule schedule,
+                              ComboTable table) {
+        assertEquals(message, keys(schedule.getAllSectionCombos()),
+                keys(table.asList()));
+    }
+
+    /**
+     * Build a filter dropping about a third of the sections
+     * @param third which third to drop
+     * @return the filter
+     */
+    private static Predicate<Section> dropping(final int third) {
+        return new Predicate<Section>() {
+            @Override
+            public boolean test(Section section) {
+                return Math.floorMod(section.getCrn().hashCode(), 3) != third;
+            }
+        };
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+
+    /**
+     * Give the section indices and the average of some combos in a
+     * comparable form
+     * @param combos the combos
+     * @return the key of every combo, sorted
+     */
+    private static List<String> keys(List<CourseCombo> combos) {
+        List<String> keys = new ArrayList<>(combos.size());
+        for (CourseCombo combo : combos) {
+            keys.add(Arrays.toString(combo.getCourseIndices())
+                    + String.format(" %.9f", combo.getAverageGPA()));
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Give the section indices of some combos in a comparable form
+     * @param combos the combos
+     * @return the section indices of every combo, sorted
+     */
+    private static List<String> sortedKeys(List<CourseCombo> combos) {
+        List<String> keys = new ArrayList<>(combos.size());
+        for (CourseCombo combo : combos) {
+            keys.add(Arrays.toString(combo.getCourseIndices()));
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+}
@@ -0,0 +1,166 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.junit.Test;
+
+/**
+ * Checks the critique pages parsed line by line against the whole-page
+ * parse the streaming parser replaced, on seeded generated pages
+ */
+public class InstructorPoolTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+
+    @Test
+    public void streamedPagesMatchTheWholePageParse() throws IOException {
+        for (long seed : SEEDS) {
+            for (int rowCount : new int[] {0, 1, 20, 300}) {
+                byte[] page = page(rowCount, seed).getBytes(UTF_8);
+                InstructorPool pool = new InstructorPool(
+                        new ByteArrayInputStream(page), "UTF-8");
+                Map<String, Double> expected = new HashMap<>();
+                double avgGPA = parse(page, expected);
+                String message = seed + " " + rowCount;
+                assertEquals(message, expected, pool.getInstructorGPAs());
+                assertEquals(message, avgGPA, pool.getAvgGPA(), 0);
+            }
+        }
+    }
+
+    @Test
+    public void pagesWithoutRowsAverageFour() {
+        InstructorPool pool = new InstructorPool(new ByteArrayInputStream(
+                "<html></html>".getBytes(UTF_8)), "UTF-8");
+        assertEquals(0, pool.getInstructorGPAs().size());
+        assertEquals(4, pool.getAvgGPA(), 0);
+    }
+
+    @Test
+    public void unreadableStreamsAreRejected() {
+        try {
+            new InstructorPool(null, "UTF-8");
+            fail("a null stream was read");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        try {
+            new InstructorPool(new ByteArrayInputStream(new byte[0]),
+                    "no such encoding");
+            fail("an unknown encoding was used");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    /**
+     * Parse a page the way InstructorPool did before streaming, reading it
+     * whole and compiling the patterns for every row
+     * @param page the page in UTF-8
+     * @param instructors where to put the GPA of every instructor
+     * @return the average GPA, 4 without instructors
+     * @throws IOException if the page cannot be read
+     */
+    private static double parse(byte[] page, Map<String, Double> instructors)
+            throws IOException {
+        StringBuffer sb = new StringBuffer();
+        BufferedReader in = new BufferedReader(new InputStreamReader(
+                new ByteArrayInputStream(page), "UTF-8"));
+        String line;
+        while ((line = in.readLine()) != null) {
+            sb.append(line);
+            sb.append("\n");
+        }
+        in.close();
+        Matcher m = Pattern.compile("(<tr class=\"[A-Z\\.]+\">)(.+)(</tr>)")
+                .matcher(sb.toString());
+        int count = 0;
+        double totalGPA = 0;
+        while (m.find()) {
+            String fragment = m.group(2);
+            Matcher mName = Pattern.compile(
+                    "([A-Za-z \\-\\.]+, [A-Z])([A-Za-z \\-]*)")
+                    .matcher(fragment);
+            Matcher mGPA = Pattern.compile("(\\d\\.\\d\\d)")
+                    .matcher(fragment);
+            if (mName.find() && mGPA.find()) {
+                instructors.put(mName.group(1) + ".",
+                        Double.parseDouble(mGPA.group(1)));
+                count++;
+                totalGPA += Double.parseDouble(mGPA.group(1));
+            }
+        }
+        return (count == 0)? 4 : totalGPA / count;
+    }
+
+    /**
+     * Build a critique page laid out like course.php, with rows that
+     * share a line, span lines, end in \r\n or \r, lack a GPA, repeat an
+     * instructor or hold non-ASCII letters
+     * @param rowCount the number of instructor rows
+     * @param seed the seed of the page
+     * @return the page
+     */
+    private static String page(int rowCount, long seed) {
+        Random random = new Random(seed);
+        String[] ends = {"\n", "\n", "\r\n", "\r", ""};
+        StringBuilder page = new StringBuilder();
+        page.append("<html>\n<head><title>Course Critique</title></head>\n");
+        page.append("<body>\n<table id=\"dataTable\">\n<tbody>\n");
+        for (int i = 0; i < rowCount; i++) {
+            // repeated instructors keep the last GPA but count every row
+            int instructor = random.nextInt(4) == 0 ? random.nextInt(i + 1)
+                    : i;
+            int gpa = 200 + random.nextInt(200);
+            page.append("<tr class=\"GRADE.A\"><td><a href=\"prof.php?id=")
+                    .append(100000 + i).append("\">")
+                    .append(lastName(instructor));
+            if (random.nextInt(10) == 0) {
+                page.append("\u00e9");
+            }
+            page.append(", ").append((char) ('A' + instructor % 26))
+                    .append("</a></td>");
+            if (random.nextInt(10) == 0) {
+                // a row split over lines matches neither way
+                page.append("\n");
+            }
+            page.append("<td>").append(20 + random.nextInt(300))
+                    .append("</td>");
+            if (random.nextInt(10) != 0) {
+                page.append("<td>").append(gpa / 100).append('.')
+                        .append(gpa / 10 % 10).append(gpa % 10)
+                        .append("</td>");
+            }
+            page.append("</tr>").append(ends[random.nextInt(ends.length)]);
+        }
+        page.append("</tbody>\n</table>\n</body>\n</html>\n");
+        return page.toString();
+    }
+
+    /**
+     * Give a distinct last name of letters only, e.g. "Ba", "Ca", ..., "Bb"
+     * @param index the index of the instructor
+     * @return the name
+     */
+    private static String lastName(int index) {
+        StringBuilder name = new StringBuilder();
+        name.append((char) ('A' + 1 + index % 25));
+        index /= 25;
+        do {
+            name.append((char) ('a' + index % 26));
+            index /= 26;
+        } while (index > 0);
+        return name.toString();
+    }
+}
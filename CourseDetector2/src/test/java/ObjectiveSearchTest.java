@@ -0,0 +1,129 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the combos ranked by an objective, and the scores they carry,
+ * against scoring every combo of seeded generated catalogs
+ */
+public class ObjectiveSearchTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void topCombosCarryTheirScores() {
+        ComboObjective[] objectives = {
+                ComboObjective.averageGPA(),
+                ComboObjective.idleMinutes(),
+                ComboObjective.earliestStart(),
+                ComboObjective.campusDays(),
+                ComboObjective.openSeats()
+        };
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            for (int o = 0; o < objectives.length; o++) {
+                List<double[]> expected = rank(schedule, objectives[o]);
+                for (int k : new int[] {1, 10, 100}) {
+                    List<CourseCombo> top = schedule.getTopCombos(k,
+                            objectives[o]);
+                    String message = seed + " " + o + " " + k;
+                    assertEquals(message, Math.min(k, expected.size()),
+                            top.size());
+                    for (int i = 0; i < top.size(); i++) {
+                        double[] row = expected.get(i);
+                        double[] values = top.get(i).getObjectiveValues();
+                        assertEquals(message, 1, values.length);
+                        assertEquals(message + " at " + i, row[row.length - 1],
+                                values[0], 1e-9);
+                        assertTrue(message + " at " + i, Arrays.equals(
+                                indices(row), top.get(i).getCourseIndices()));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void plainCombosHaveNoScores() {
+        Schedule schedule = generate(1);
+        assertEquals(0, schedule.getTopCombos(1).get(0)
+                .getObjectiveValues().length);
+    }
+
+    /**
+     * Score every combo of a schedule and rank them as the search does,
+     * higher score first, then by section indices
+     * @param schedule the schedule
+     * @param objective the objective
+     * @return the section indices of every combo followed by its score
+     */
+    private static List<double[]> rank(Schedule schedule,
+                                       ComboObjective objective) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+            courses.add(schedule.getCourse(i));
+        }
+        ConflictTable table = schedule.getConflictTable();
+        ScoreTable scores = new ScoreTable(courses, table, false);
+        List<double[]> ranked = new ArrayList<>();
+        for (CourseCombo combo : schedule.getAllSectionCombos()) {
+            ComboState state = new ComboState(courses, table, scores);
+            double[] row = new double[courses.size() + 1];
+            for (int i = 0; i < courses.size(); i++) {
+                state.push(i, table.getUniquePosition(i,
+                        combo.getCourseIndex(i)));
+                row[i] = combo.getCourseIndex(i);
+            }
+            row[courses.size()] = objective.evaluate(state);
+            ranked.add(row);
+        }
+        Collections.sort(ranked, new Comparator<double[]>() {
+            @Override
+            public int compare(double[] r1, double[] r2) {
+                int last = r1.length - 1;
+                if (r1[last] != r2[last]) {
+                    return r1[last] > r2[last] ? -1 : 1;
+                }
+                for (int i = 0; i < last; i++) {
+                    if (r1[i] != r2[i]) {
+                        return r1[i] < r2[i] ? -1 : 1;
+                    }
+                }
+                return 0;
+            }
+        });
+        return ranked;
+    }
+
+    /**
+     * Give the section indices of a ranked row
+     * @param row the section indices followed by the score
+     * @return the section indices
+     */
+    private static int[] indices(double[] row) {
+        int[] indices = new int[row.length - 1];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = (int) row[i];
+        }
+        return indices;
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}
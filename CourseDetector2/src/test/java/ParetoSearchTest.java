@@ -0,0 +1,163 @@
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the Pareto front, and the scores its combos carry, against
+ * comparing all pairs of combos of seeded generated catalogs
+ */
+public class ParetoSearchTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void frontCarriesTheScoresOfEveryCombo() {
+        ComboObjective[] objectives = {
+                ComboObjective.averageGPA(),
+                ComboObjective.idleMinutes(),
+                ComboObjective.campusDays()
+        };
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<String> expected = front(schedule, objectives);
+            List<CourseCombo> combos = schedule.getParetoCombos(objectives);
+            List<String> actual = new ArrayList<>();
+            for (int i = 0; i < combos.size(); i++) {
+                double[] values = combos.get(i).getObjectiveValues();
+                assertEquals(seed + " at " + i, objectives.length,
+                        values.length);
+                if (i > 0) {
+                    assertTrue(seed + " at " + i, compare(combos.get(i - 1)
+                            .getObjectiveValues(), values) <= 0);
+                }
+                actual.add(key(combos.get(i).getCourseIndices(), values));
+            }
+            Collections.sort(actual);
+            assertEquals(seed + "", expected, actual);
+        }
+    }
+
+    @Test
+    public void defaultFrontHasThreeScores() {
+        Schedule schedule = generate(1);
+        List<CourseCombo> combos = schedule.getParetoCombos();
+        assertTrue(combos.size() > 0);
+        CourseCombo best = combos.get(0);
+        assertEquals(3, best.getObjectiveValues().length);
+        double[] values = best.getObjectiveValues();
+        assertEquals(best.getAverageGPA(), values[0], 1e-9);
+        values[0] = -1;
+        assertArrayEquals(new double[] {best.getAverageGPA()},
+                Arrays.copyOf(best.getObjectiveValues(), 1), 1e-9);
+    }
+
+    /**
+     * Find the combos no other combo beats in every objective by comparing
+     * all pairs of them
+     * @param schedule the schedule
+     * @param objectives the objectives, higher is better for each
+     * @return the key of every combo on the front, sorted
+     */
+    private static List<String> front(Schedule schedule,
+                                      ComboObjective[] objectives) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+            courses.add(schedule.getCourse(i));
+        }
+        ConflictTable table = schedule.getConflictTable();
+        ScoreTable scores = new ScoreTable(courses, table, false);
+        List<CourseCombo> combos = schedule.getAllSectionCombos();
+        List<double[]> points = new ArrayList<>();
+        for (CourseCombo combo : combos) {
+            ComboState state = new ComboState(courses, table, scores);
+            for (int i = 0; i < courses.size(); i++) {
+                state.push(i, table.getUniquePosition(i,
+                        combo.getCourseIndex(i)));
+            }
+            double[] point = new double[objectives.length];
+            for (int d = 0; d < point.length; d++) {
+                point[d] = objectives[d].evaluate(state);
+            }
+            points.add(point);
+        }
+        List<String> keys = new ArrayList<>();
+        for (int i = 0; i < points.size(); i++) {
+            boolean dominated = false;
+            for (int j = 0; j < points.size() && !dominated; j++) {
+                dominated = dominates(points.get(j), points.get(i));
+            }
+            if (!dominated) {
+                keys.add(key(combos.get(i).getCourseIndices(),
+                        points.get(i)));
+            }
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Test if one point is at least as good as another in every dimension
+     * and better in one
+     * @param point one point
+     * @param other the other point
+     * @return true if point dominates other
+     */
+    private static boolean dominates(double[] point, double[] other) {
+        boolean better = false;
+        for (int d = 0; d < point.length; d++) {
+            if (point[d] < other[d] - 1e-9) {
+                return false;
+            }
+            better |= point[d] > other[d] + 1e-9;
+        }
+        return better;
+    }
+
+    /**
+     * Compare the scores of two combos as the front is ordered
+     * @param v1 the scores of one combo
+     * @param v2 the scores of the other combo
+     * @return negative if v1 comes first
+     */
+    private static int compare(double[] v1, double[] v2) {
+        for (int d = 0; d < v1.length; d++) {
+            if (v1[d] != v2[d]) {
+                return v1[d] > v2[d] ? -1 : 1;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Give a combo and its scores in a comparable form
+     * @param indices the section indices of the combo
+     * @param values the scores of the combo
+     * @return the key
+     */
+    private static String key(int[] indices, double[] values) {
+        StringBuilder key = new StringBuilder(Arrays.toString(indices));
+        for (double value : values) {
+            key.append(String.format(" %.6f", value));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}
@@ -0,0 +1,115 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+/**
+ * Checks the averages accumulated while searching against the instructor
+ * lookups of CourseCombo(courses, indices, countNullAverage) they replace
+ */
+public class ScoreTableTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void accumulatedAveragesMatchTheLookups() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed : SEEDS) {
+                Schedule schedule = generate(seed);
+                List<Course> courses = courses(schedule);
+                for (boolean countNullAverage : new boolean[] {false, true}) {
+                    schedule.setCountNullAverage(countNullAverage);
+                    String message = seed + " " + countNullAverage;
+                    check(message, courses, countNullAverage,
+                            schedule.getAllSectionCombos());
+                    check(message, courses, countNullAverage,
+                            schedule.getAllSectionCombosInParallel(pool));
+                    check(message, courses, countNullAverage, schedule
+                            .streamSectionCombos().collect(
+                                    Collectors.toList()));
+                    check(message, courses, countNullAverage,
+                            schedule.getTopCombos(10));
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void maxPointsBoundEverySection() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            List<Course> courses = courses(schedule);
+            ConflictTable table = schedule.getConflictTable();
+            for (boolean countNullAverage : new boolean[] {false, true}) {
+                ScoreTable scores = new ScoreTable(courses, table,
+                        countNullAverage);
+                int credit = 0;
+                for (int i = 0; i < courses.size(); i++) {
+                    credit += scores.getCredit(i);
+                    double max = 0;
+                    for (int unique = 0; unique < table.getUniqueCount(i);
+                         unique++) {
+                        max = Math.max(max, scores.getPoints(i, unique));
+                    }
+                    assertEquals(seed + " " + i, max, scores.getMaxPoints(i),
+                            0);
+                }
+                assertEquals(seed + "", credit, scores.getTotalCredit());
+            }
+        }
+    }
+
+    /**
+     * Assert the average of every combo is the one looked up from its
+     * sections
+     * @param message the message of a failure
+     * @param courses the courses of the schedule
+     * @param countNullAverage whether sections without GPA count the
+     * course average
+     * @param combos the combos found
+     */
+    private static void check(String message, List<Course> courses,
+                              boolean countNullAverage,
+                              List<CourseCombo> combos) {
+        assertTrue(message, combos.size() > 0);
+        for (int i = 0; i < combos.size(); i++) {
+            CourseCombo combo = combos.get(i);
+            assertEquals(message + " at " + i, new CourseCombo(courses,
+                    combo.getCourseIndices(), countNullAverage)
+                    .getAverageGPA(), combo.getAverageGPA(), 0);
+        }
+    }
+
+    /**
+     * Give the courses of a schedule
+     * @param schedule the schedule
+     * @return the courses, in order
+     */
+    private static List<Course> courses(Schedule schedule) {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < schedule.getNumberOfCourses(); i++) {
+            courses.add(schedule.getCourse(i));
+        }
+        return courses;
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}
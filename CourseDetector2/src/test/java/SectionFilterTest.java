@@ -0,0 +1,319 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.junit.Test;
+
+/**
+ * Checks the parsing and evaluation of section filters against the
+ * Predicate lambdas they replace
+ */
+public class SectionFilterTest {
+    private static final String[] NUMBERS = {
+            "A", "B", "B1", "GR", "UG", "RBS", "HPW", "HPY", "HPF", "A1"
+    };
+
+    @Test
+    public void replacedFiltersMatchTheOldPredicates() {
+        List<Section> sections = sections();
+        check("section not in (GR)", sections,
+                section -> !section.getSectionNumber().equals("GR"));
+        check("section not in (UG)", sections,
+                section -> !section.getSectionNumber().equals("UG"));
+        check("section not in (B)", sections,
+                section -> !section.getSectionNumber().equals("B"));
+        check("section not in (B1)", sections,
+                section -> !section.getSectionNumber().equals("B1"));
+        check("section not in (RBS, HPW, HPY, HPF)", sections,
+                section -> !section.getSectionNumber().equals("RBS")
+                        && !section.getSectionNumber().equals("HPW")
+                        && !section.getSectionNumber().equals("HPY")
+                        && !section.getSectionNumber().equals("HPF"));
+    }
+
+    @Test
+    public void filteringACourseNarrowsAsThePredicatesDid() {
+        Predicate<Section> old = section -> !section.getSectionNumber()
+                .equals("RBS") && !section.getSectionNumber().equals("HPW")
+                && !section.getSectionNumber().equals("HPY")
+                && !section.getSectionNumber().equals("HPF");
+        Course expected = course();
+        expected.filterSections(section -> section.isOpen());
+        expected.filterSections(old);
+        Course actual = course();
+        actual.filterSections(section -> section.isOpen());
+        actual.filterSections(
+                SectionFilter.parse("section not in (RBS, HPW, HPY, HPF)"));
+        assertEquals(crns(expected), crns(actual));
+    }
+
+    @Test
+    public void andBindsTighterThanOr() {
+        List<Section> sections = sections();
+        Predicate<Section> a = section -> section.getSectionNumber()
+                .equals("A");
+        Predicate<Section> b = section -> section.getSectionNumber()
+                .startsWith("B");
+        check("section in (A) or section in (B, B1) and open", sections,
+                a.or(b.and(Section::isOpen)));
+        check("(section in (A) or section in (B, B1)) and open", sections,
+                a.or(b).and(Section::isOpen));
+        check("not section in (A) and open", sections,
+                a.negate().and(Section::isOpen));
+        check("not (section in (A) and open)", sections,
+                a.and(Section::isOpen).negate());
+        check("not not open", sections, Section::isOpen);
+        check("SECTION IN (A) OR Open", sections, a.or(Section::isOpen));
+    }
+
+    @Test
+    public void quotesKeepCommasAndSpaces() {
+        List<Section> sections = sections();
+        check("instructor in (\"Smith, John\")", sections,
+                section -> section.getInstructor().equals("Smith, John"));
+        check("instructor in (\"Smith, John\", \"Lee, Ann\")", sections,
+                section -> section.getInstructor().equals("Smith, John")
+                        || section.getInstructor().equals("Lee, Ann"));
+        // without quotes the comma splits the name into two values
+        check("instructor in (Smith, John)", sections,
+                section -> section.getInstructor().equals("Smith")
+                        || section.getInstructor().equals("John"));
+        check("status in (C)", sections, section -> !section.isOpen());
+        check("status not in C", sections, Section::isOpen);
+    }
+
+    @Test
+    public void sectionsWithoutTimesPassTimeConditions() {
+        List<Section> sections = sections();
+        Predicate<Section> untimed = section -> section.getTimeSlots()
+                .isEmpty();
+        check("start >= 09:30", sections, untimed.or(
+                section -> start(section) >= 9 * 60 + 30));
+        check("end <= 11:00", sections, untimed.or(
+                section -> end(section) <= 11 * 60));
+        check("time within 09:00-11:00", sections, untimed.or(
+                section -> start(section) >= 9 * 60
+                        && end(section) <= 11 * 60));
+        check("days in (M)", sections, untimed.or(
+                section -> onlyOn(section, WeekDay.MONDAY)));
+        check("days not in (MTWRF)", sections, untimed);
+        check("not start >= 09:30", sections, untimed.negate().and(
+                section -> start(section) < 9 * 60 + 30));
+    }
+
+    @Test
+    public void conditionsMatchTheSections() {
+        for (long seed = 1; seed <= 5; seed++) {
+            CatalogGenerator generator = new CatalogGenerator(seed);
+            generator.setCourseCount(3);
+            generator.setSectionsPerCourse(30);
+            generator.setSecondMeetingRate(0.3);
+            generator.setOffGridRate(0.3);
+            for (Course course : generator.generate()) {
+                List<Section> sections = course.getAllSections();
+                check("open", sections, Section::isOpen);
+                check("all", sections, section -> true);
+                check("seats >= 10", sections,
+                        section -> section.getOpenSeats() >= 10);
+                check("seats = 0", sections,
+                        section -> section.getOpenSeats() == 0);
+                check("waitlist > 0", sections, section ->
+                        section.getWlCapacity() - section.getWlActual() > 0);
+                check("credit != 3", sections,
+                        section -> section.getCredit() != 3);
+                check("start < 10:00", sections, section -> section
+                        .getTimeSlots().isEmpty() || start(section) < 10 * 60);
+                check("end > 15:00", sections, section -> section
+                        .getTimeSlots().isEmpty() || end(section) > 15 * 60);
+                check("days in (M, W, F)", sections, section -> onlyOn(
+                        section, WeekDay.MONDAY, WeekDay.WEDNESDAY,
+                        WeekDay.FRIDAY));
+                check("days not in (F)", sections,
+                        section -> !meetsOn(section, WeekDay.FRIDAY));
+            }
+        }
+    }
+
+    @Test
+    public void malformedFiltersAreRejected() {
+        String[] malformed = {
+                "", "section", "section in", "section in (A", "section in ()",
+                "section in (A,)", "section is (A)", "instructor in (\"Smith",
+                "seats", "seats >> 1", "seats >= x", "seats 1", "start >= 9",
+                "start >= 25:00", "end <= 10:60", "time 09:00-17:00",
+                "time within 0900", "days in (X)", "days (M)", "bogus",
+                "open open", "(open", "open)", "open and", "or open", "not"
+        };
+        for (String text : malformed) {
+            try {
+                SectionFilter.parse(text);
+                fail(text + " was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+        try {
+            SectionFilter.parse(null);
+            fail("null was accepted");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void combinedFiltersKeepTheirText() {
+        SectionFilter open = SectionFilter.parse(" open ");
+        SectionFilter section = SectionFilter.parse("section in (A)");
+        assertEquals("(open) and (section in (A))",
+                open.and(section).toString());
+        assertEquals("(open) or (section in (A))",
+                open.or(section).toString());
+        assertEquals("not (open)", open.negate().toString());
+        List<Section> sections = sections();
+        SectionCatalog catalog = catalog(sections);
+        BitSet bits = open.and(section.negate()).evaluate(catalog);
+        assertEquals(SectionFilter.parse("open and not section in (A)")
+                .evaluate(catalog), bits);
+    }
+
+    /**
+     * Assert a filter keeps exactly the sections a predicate accepts
+     * @param text the filter
+     * @param sections the sections
+     * @param predicate the predicate
+     */
+    private static void check(String text, List<Section> sections,
+                              Predicate<Section> predicate) {
+        BitSet expected = new BitSet();
+        for (int i = 0; i < sections.size(); i++) {
+            if (predicate.test(sections.get(i))) {
+                expected.set(i);
+            }
+        }
+        assertEquals(text, expected,
+                SectionFilter.parse(text).evaluate(catalog(sections)));
+    }
+
+    /**
+     * Build the columns of some sections
+     * @param sections the sections
+     * @return the catalog, one row per section in order
+     */
+    private static SectionCatalog catalog(List<Section> sections) {
+        return SectionCatalog.of(sections, new StringDictionary());
+    }
+
+    /**
+     * Build one section for every section number, with the instructors,
+     * statuses and meeting times varied, and one without meeting times
+     * @return the sections
+     */
+    private static List<Section> sections() {
+        String[] instructors = {"Smith, John", "Lee, Ann", "Smith"};
+        List<Section> sections = new ArrayList<>();
+        for (int i = 0; i < NUMBERS.length; i++) {
+            Section section = new Section(String.valueOf(10000 + i),
+                    NUMBERS[i], 3, 30, 10 * (i % 4), 5, i % 7,
+                    instructors[i % instructors.length],
+                    i % 3 == 0 ? "C" : "SR");
+            if (i != 4) {
+                int begin = 8 * 60 + 30 * i;
+                WeekDay[] days = WeekDay.values();
+                section.addTimeSlot(new TimeSlot(days[i % days.length],
+                        "Room", begin, begin + 50));
+                if (i % 2 == 0) {
+                    section.addTimeSlot(new TimeSlot(
+                            days[(i + 2) % days.length], "Room", begin,
+                            begin + 50));
+                }
+            }
+            sections.add(section);
+        }
+        return sections;
+    }
+
+    /**
+     * Build a course of the sections of sections()
+     * @return the course
+     */
+    private static Course course() {
+        return new Course("APPH1050", sections(),
+                new InstructorPool(new HashMap<String, Double>()));
+    }
+
+    /**
+     * Give the CRNs of the sections in consideration
+     * @param course the course
+     * @return the CRNs, sorted
+     */
+    private static List<String> crns(Course course) {
+        String[] crns = new String[course.getNumberOfSections()];
+        for (int i = 0; i < crns.length; i++) {
+            crns[i] = course.getSection(i).getCrn();
+        }
+        Arrays.sort(crns);
+        return Arrays.asList(crns);
+    }
+
+    /**
+     * Give the earliest begin of the meetings of a section
+     * @param section the section
+     * @return the minute of the day, Integer.MAX_VALUE without meetings
+     */
+    private static int start(Section section) {
+        int start = Integer.MAX_VALUE;
+        for (TimeSlot slot : section.getTimeSlots()) {
+            start = Math.min(start, slot.getBegin());
+        }
+        return start;
+    }
+
+    /**
+     * Give the latest end of the meetings of a section
+     * @param section the section
+     * @return the minute of the day, Integer.MIN_VALUE without meetings
+     */
+    private static int end(Section section) {
+        int end = Integer.MIN_VALUE;
+        for (TimeSlot slot : section.getTimeSlots()) {
+            end = Math.max(end, slot.getEnd());
+        }
+        return end;
+    }
+
+    /**
+     * Test if a section meets on a day
+     * @param section the section
+     * @param day the day
+     * @return true if one of its meetings is on that day
+     */
+    private static boolean meetsOn(Section section, WeekDay day) {
+        for (TimeSlot slot : section.getTimeSlots()) {
+            if (slot.getWeekDay() == day) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Test if a section meets on the given days only
+     * @param section the section
+     * @param days the days
+     * @return true if none of its meetings is on another day
+     */
+    private static boolean onlyOn(Section section, WeekDay... days) {
+        for (TimeSlot slot : section.getTimeSlots()) {
+            if (!Arrays.asList(days).contains(slot.getWeekDay())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,116 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Checks the ids and ranks of dictionary strings, and the sections
+ * comparing their instructors by rank, against String.compareTo()
+ */
+public class StringDictionaryTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void ranksFollowCompareTo() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            StringDictionary dictionary = new StringDictionary();
+            List<String> strings = new ArrayList<>();
+            for (int round = 0; round < 3; round++) {
+                // ranks are taken before more strings are added
+                for (int i = 0; i < 40; i++) {
+                    String value = string(random);
+                    dictionary.id(value);
+                    if (!strings.contains(value)) {
+                        strings.add(value);
+                    }
+                }
+                assertEquals(seed + "", strings.size(), dictionary.size());
+                for (String s1 : strings) {
+                    for (String s2 : strings) {
+                        assertEquals(seed + " " + s1 + " " + s2,
+                                Integer.signum(s1.compareTo(s2)),
+                                Integer.signum(dictionary.rank(
+                                        dictionary.find(s1))
+                                        - dictionary.rank(
+                                                dictionary.find(s2))));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void idsKeepOneInstancePerString() {
+        StringDictionary dictionary = new StringDictionary();
+        String smith = new String("Smith, John");
+        assertEquals(-1, dictionary.find(smith));
+        assertEquals(0, dictionary.id(smith));
+        assertEquals(1, dictionary.id("Lee, Ann"));
+        assertEquals(0, dictionary.id(new String("Smith, John")));
+        assertTrue(smith == dictionary.intern(new String("Smith, John")));
+        assertTrue(smith == dictionary.value(0));
+        assertEquals(2, dictionary.id(null));
+        assertEquals(0, dictionary.rank(2));
+        assertEquals(1, dictionary.rank(1));
+        assertEquals(2, dictionary.rank(0));
+        assertEquals(3, dictionary.size());
+    }
+
+    @Test
+    public void encodedSectionsCompareAsBefore() {
+        for (long seed : SEEDS) {
+            Random random = new Random(seed);
+            List<Section> plain = new ArrayList<>();
+            List<Section> encoded = new ArrayList<>();
+            StringDictionary dictionary = new StringDictionary();
+            for (int i = 0; i < 30; i++) {
+                String instructor = string(random);
+                String number = "A" + random.nextInt(5);
+                int begin = 8 * 60 + 30 * random.nextInt(4);
+                WeekDay day = WeekDay.values()[random.nextInt(5)];
+                for (int copy = 0; copy < 2; copy++) {
+                    Section section = new Section(String.valueOf(10000 + i),
+                            number, 3, 30, 10, 5, 0, instructor, "SR");
+                    section.addTimeSlot(new TimeSlot(day, "Room", begin,
+                            begin + 50));
+                    if (copy == 0) {
+                        plain.add(section);
+                    } else {
+                        section.encode(dictionary);
+                        encoded.add(section);
+                    }
+                }
+            }
+            for (int i = 0; i < plain.size(); i++) {
+                for (int j = 0; j < plain.size(); j++) {
+                    assertEquals(seed + " " + i + " " + j,
+                            Integer.signum(plain.get(i).compareTo(
+                                    plain.get(j))),
+                            Integer.signum(encoded.get(i).compareTo(
+                                    encoded.get(j))));
+                }
+            }
+        }
+    }
+
+    /**
+     * Pick a short string, often one picked before, of letters that differ
+     * in case, in a prefix or in a non-ASCII letter
+     * @param random the random numbers
+     * @return the string
+     */
+    private static String string(Random random) {
+        String letters = "aAbBzZ \u00e9\u00c9,";
+        StringBuilder value = new StringBuilder();
+        int length = random.nextInt(4);
+        for (int i = 0; i < length; i++) {
+            value.append(letters.charAt(random.nextInt(letters.length())));
+        }
+        return value.toString();
+    }
+}
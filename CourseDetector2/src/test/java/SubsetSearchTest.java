@@ -0,0 +1,176 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the combos of every subset of courses within credit bounds against
+ * searching each subset as a schedule of its own, on seeded generated
+ * catalogs
+ */
+public class SubsetSearchTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void subsetsMatchASearchPerSubset() {
+        int[][] bounds = {{1, 100}, {6, 9}, {9, 9}, {12, 100}};
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            for (boolean countNullAverage : new boolean[] {false, true}) {
+                schedule.setCountNullAverage(countNullAverage);
+                for (int[] bound : bounds) {
+                    String message = seed + " " + countNullAverage + " "
+                            + bound[0] + "-" + bound[1];
+                    List<CourseCombo> combos = schedule.getSubsetCombos(
+                            bound[0], bound[1]).asList();
+                    List<String> actual = new ArrayList<>();
+                    for (int i = 0; i < combos.size(); i++) {
+                        int[] indices = combos.get(i).getCourseIndices();
+                        int credit = credit(schedule, indices);
+                        assertTrue(message + " at " + i, credit >= bound[0]
+                                && credit <= bound[1]);
+                        if (i > 0) {
+                            // skipped courses, -1, come first
+                            assertTrue(message + " at " + i, compare(
+                                    combos.get(i - 1).getCourseIndices(),
+                                    indices) < 0);
+                        }
+                        actual.add(key(indices, combos.get(i)
+                                .getAverageGPA()));
+                    }
+                    Collections.sort(actual);
+                    assertEquals(message, search(schedule, countNullAverage,
+                            bound[0], bound[1]), actual);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void unreachableBoundsFindNothing() {
+        Schedule schedule = generate(1);
+        int total = credit(schedule, new int[schedule.getNumberOfCourses()]);
+        assertEquals(0, schedule.getSubsetCombos(total + 1, total + 10)
+                .size());
+        assertEquals(schedule.getAllSectionCombos().size(),
+                schedule.getSubsetCombos(total, total).size());
+    }
+
+    @Test
+    public void badBoundsAreRejected() {
+        Schedule schedule = generate(1);
+        int[][] bounds = {{0, 5}, {-1, 5}, {6, 5}};
+        for (int[] bound : bounds) {
+            try {
+                schedule.getSubsetCombos(bound[0], bound[1]);
+                fail(bound[0] + "-" + bound[1] + " was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Search every subset of the courses within the credit bounds as a
+     * schedule of its own
+     * @param schedule the schedule of all courses
+     * @param countNullAverage whether sections without GPA count the
+     * course average
+     * @param minCredit the least credit hours
+     * @param maxCredit the most credit hours
+     * @return the key of every combo, with -1 for the courses left out,
+     * sorted
+     */
+    private static List<String> search(Schedule schedule,
+                                       boolean countNullAverage,
+                                       int minCredit, int maxCredit) {
+        int n = schedule.getNumberOfCourses();
+        List<String> keys = new ArrayList<>();
+        for (int mask = 1; mask < 1 << n; mask++) {
+            List<Course> taken = new ArrayList<>();
+            int credit = 0;
+            for (int i = 0; i < n; i++) {
+                if ((mask & 1 << i) != 0) {
+                    taken.add(schedule.getCourse(i));
+                    credit += schedule.getCourse(i).getCredit();
+                }
+            }
+            if (credit < minCredit || credit > maxCredit) {
+                continue;
+            }
+            Schedule subset = new Schedule(taken);
+            subset.setCountNullAverage(countNullAverage);
+            for (CourseCombo combo : subset.getAllSectionCombos()) {
+                int[] indices = new int[n];
+                int position = 0;
+                for (int i = 0; i < n; i++) {
+                    indices[i] = (mask & 1 << i) != 0
+                            ? combo.getCourseIndex(position++) : -1;
+                }
+                keys.add(key(indices, combo.getAverageGPA()));
+            }
+        }
+        Collections.sort(keys);
+        return keys;
+    }
+
+    /**
+     * Give the credit hours of the courses a combo takes
+     * @param schedule the schedule
+     * @param indices the section indices of the combo, -1 if not taken
+     * @return the credit hours
+     */
+    private static int credit(Schedule schedule, int[] indices) {
+        int credit = 0;
+        for (int i = 0; i < indices.length; i++) {
+            if (indices[i] != -1) {
+                credit += schedule.getCourse(i).getCredit();
+            }
+        }
+        return credit;
+    }
+
+    /**
+     * Compare the section indices of two combos
+     * @param c1 the indices of one combo
+     * @param c2 the indices of the other combo
+     * @return negative if c1 comes first
+     */
+    private static int compare(int[] c1, int[] c2) {
+        for (int i = 0; i < c1.length; i++) {
+            if (c1[i] != c2[i]) {
+                return Integer.compare(c1[i], c2[i]);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Give a combo and its average in a comparable form
+     * @param indices the section indices of the combo
+     * @param averageGPA the average GPA of the combo
+     * @return the key
+     */
+    private static String key(int[] indices, double averageGPA) {
+        return Arrays.toString(indices) + String.format(" %.9f", averageGPA);
+    }
+
+    /**
+     * Generate a schedule small enough to search every subset of
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}
@@ -0,0 +1,69 @@
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * Checks the best combos found by branch and bound against sorting every
+ * combo of seeded generated catalogs
+ */
+public class TopComboSearchTest {
+    private static final long[] SEEDS = {1, 2, 3, 4, 5};
+
+    @Test
+    public void topCombosAreTheSortedHead() {
+        for (long seed : SEEDS) {
+            Schedule schedule = generate(seed);
+            for (boolean countNullAverage : new boolean[] {false, true}) {
+                schedule.setCountNullAverage(countNullAverage);
+                schedule.setCourseOrder(CourseOrder.GIVEN);
+                List<CourseCombo> sorted = schedule.getAllSectionCombos();
+                Collections.sort(sorted);
+                for (CourseOrder order : CourseOrder.values()) {
+                    schedule.setCourseOrder(order);
+                    for (int k : new int[] {1, 10, 100}) {
+                        String message = seed + " " + countNullAverage + " "
+                                + order + " " + k;
+                        List<CourseCombo> top = schedule.getTopCombos(k);
+                        int count = Math.min(k, sorted.size());
+                        assertEquals(message, count, top.size());
+                        for (int i = 0; i < count; i++) {
+                            assertEquals(message + " at " + i,
+                                    sorted.get(i).getAverageGPA(),
+                                    top.get(i).getAverageGPA(), 1e-9);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void nonPositiveCountsAreRejected() {
+        Schedule schedule = generate(1);
+        for (int k : new int[] {0, -1}) {
+            try {
+                schedule.getTopCombos(k);
+                fail(k + " was accepted");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+
+    /**
+     * Generate a schedule small enough to list all of its combos
+     * @param seed the seed of the catalog
+     * @return the schedule of the generated courses
+     */
+    private static Schedule generate(long seed) {
+        CatalogGenerator generator = new CatalogGenerator(seed);
+        generator.setCourseCount(5);
+        generator.setSectionsPerCourse(8);
+        generator.setSecondMeetingRate(0.3);
+        return new Schedule(generator.generate());
+    }
+}